@@ -0,0 +1,76 @@
+package com.financetracker.config;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Seeds category_usage from the expenses written before the registry existed. One aggregation
+ * counts expenses per (user, category) and merges the totals in on the registry's unique index,
+ * so rerunning it after an interrupted start converges on the same counts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistryMigration {
+
+    private static final String MIGRATION_ID = "category-registry";
+    private static final String MIGRATIONS_COLLECTION = "schema_migrations";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongo.category-registry-migration.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            MongoCollection<Document> migrations = mongoTemplate.getCollection(MIGRATIONS_COLLECTION);
+            if (migrations.find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+                return;
+            }
+
+            List<Document> pipeline = List.of(
+                    new Document("$match", new Document("category", new Document("$type", "string"))),
+                    new Document("$group", new Document("_id", new Document("userId", "$userId")
+                            .append("category", "$category"))
+                            .append("count", new Document("$sum", 1))),
+                    new Document("$project", new Document("_id", 0)
+                            .append("userId", "$_id.userId")
+                            .append("category", "$_id.category")
+                            .append("count", 1)
+                            .append("updatedAt", "$$NOW")),
+                    new Document("$merge", new Document("into", "category_usage")
+                            .append("on", Arrays.asList("userId", "category"))
+                            .append("whenMatched", "replace")
+                            .append("whenNotMatched", "insert")));
+            mongoTemplate.getCollection("expenses").aggregate(pipeline).allowDiskUse(true).toCollection();
+
+            long entries = mongoTemplate.getCollection("category_usage").countDocuments();
+            migrations.updateOne(
+                    Filters.eq("_id", MIGRATION_ID),
+                    Updates.combine(Updates.set("completedAt", new Date()), Updates.set("documents", entries)),
+                    new UpdateOptions().upsert(true));
+            log.info("Category registry seeded with {} entries", entries);
+        } catch (Exception ex) {
+            log.error("Category registry seeding did not finish and will rerun on next start: {}", ex.getMessage());
+        }
+    }
+}
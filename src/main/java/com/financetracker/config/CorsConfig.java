@@ -1,7 +1,10 @@
 package com.financetracker.config;
 
+import com.financetracker.controller.CappedListResponses;
+import com.financetracker.security.IdempotencyFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,8 +27,10 @@ public class CorsConfig {
                 "*"  // Remove this in production and add your specific frontend URL
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin",
+                IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, HttpHeaders.IF_NONE_MATCH));
+        configuration.setExposedHeaders(List.of("Authorization", IdempotencyFilter.REPLAYED_HEADER, HttpHeaders.ETAG,
+                CappedListResponses.TRUNCATED_HEADER, HttpHeaders.LINK));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
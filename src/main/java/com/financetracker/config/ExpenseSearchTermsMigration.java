@@ -0,0 +1,85 @@
+package com.financetracker.config;
+
+import com.financetracker.util.SearchTokenizer;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Backfills Expense.searchTerms for documents written before search existed. Each batch only
+ * selects expenses without the field, so an interrupted run resumes on the next start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpenseSearchTermsMigration {
+
+    private static final String MIGRATION_ID = "expense-search-terms";
+    private static final String MIGRATIONS_COLLECTION = "schema_migrations";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongo.search-terms-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mongo.search-terms-migration.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            MongoCollection<Document> migrations = mongoTemplate.getCollection(MIGRATIONS_COLLECTION);
+            if (migrations.find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+                return;
+            }
+
+            MongoCollection<Document> expenses = mongoTemplate.getCollection("expenses");
+            Bson pending = Filters.exists("searchTerms", false);
+            long updated = 0;
+            while (true) {
+                List<WriteModel<Document>> updates = new ArrayList<>();
+                expenses.find(pending)
+                        .projection(Projections.include("description", "notes"))
+                        .limit(batchSize)
+                        .forEach(document -> updates.add(new UpdateOneModel<>(
+                                Filters.eq("_id", document.get("_id")),
+                                Updates.set("searchTerms", SearchTokenizer.tokenize(
+                                        document.getString("description"), document.getString("notes"))))));
+                if (updates.isEmpty()) {
+                    break;
+                }
+                updated += expenses.bulkWrite(updates).getModifiedCount();
+                log.info("Indexed {} expenses for search", updated);
+            }
+
+            migrations.updateOne(
+                    Filters.eq("_id", MIGRATION_ID),
+                    Updates.combine(Updates.set("completedAt", new Date()), Updates.set("documents", updated)),
+                    new UpdateOptions().upsert(true));
+            log.info("Expense search backfill finished, {} documents updated", updated);
+        } catch (Exception ex) {
+            log.error("Expense search backfill did not finish and will resume on next start: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.financetracker.config;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Converts money fields written as strings by earlier versions into Decimal128. Work is done
+ * server-side in batches of ids; each batch only selects documents that still hold a string,
+ * so an interrupted run simply resumes where it stopped on the next start. It runs before the
+ * other startup jobs, some of which aggregate these fields and need them numeric.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MoneyDecimalMigration {
+
+    public static final String MIGRATION_ID = "money-decimal128";
+    private static final String MIGRATIONS_COLLECTION = "schema_migrations";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongo.money-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mongo.money-migration.batch-size:1000}")
+    private int batchSize;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            MongoCollection<Document> migrations = mongoTemplate.getCollection(MIGRATIONS_COLLECTION);
+            if (migrations.find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+                return;
+            }
+
+            long converted = 0;
+            converted += convertFields("expenses", "amount");
+            converted += convertFields("budgets", "monthlyLimit");
+            converted += convertFields("savings_goals", "targetAmount", "currentAmount");
+            converted += convertFields("split_bills", "totalAmount");
+            converted += convertParticipantAmounts();
+
+            migrations.updateOne(
+                    Filters.eq("_id", MIGRATION_ID),
+                    Updates.combine(Updates.set("completedAt", new Date()), Updates.set("documents", converted)),
+                    new UpdateOptions().upsert(true));
+            log.info("Money migration to Decimal128 finished, {} documents converted", converted);
+        } catch (Exception ex) {
+            log.error("Money migration to Decimal128 did not finish and will resume on next start: {}", ex.getMessage());
+        }
+    }
+
+    private long convertFields(String collectionName, String... fields) {
+        long converted = 0;
+        for (String field : fields) {
+            Bson pending = Filters.type(field, "string");
+            List<Document> pipeline = List.of(new Document("$set",
+                    new Document(field, new Document("$toDecimal", "$" + field))));
+            converted += convertInBatches(collectionName, pending, pipeline);
+        }
+        return converted;
+    }
+
+    private long convertParticipantAmounts() {
+        Bson pending = Filters.type("participants.amountOwed", "string");
+        Document convertIfString = new Document("$cond", List.of(
+                new Document("$eq", List.of(new Document("$type", "$$p.amountOwed"), "string")),
+                new Document("amountOwed", new Document("$toDecimal", "$$p.amountOwed")),
+                new Document()));
+        List<Document> pipeline = List.of(new Document("$set", new Document("participants",
+                new Document("$map", new Document("input", "$participants")
+                        .append("as", "p")
+                        .append("in", new Document("$mergeObjects", List.of("$$p", convertIfString)))))));
+        return convertInBatches("split_bills", pending, pipeline);
+    }
+
+    private long convertInBatches(String collectionName, Bson pending, List<Document> pipeline) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+        long converted = 0;
+        while (true) {
+            List<Object> ids = collection.find(pending)
+                    .projection(Projections.include("_id"))
+                    .limit(batchSize)
+                    .map(document -> document.get("_id"))
+                    .into(new ArrayList<>());
+            if (ids.isEmpty()) {
+                return converted;
+            }
+            converted += collection.updateMany(Filters.in("_id", ids), pipeline).getModifiedCount();
+            log.info("Converted {} documents in {} to Decimal128", converted, collectionName);
+        }
+    }
+}
@@ -1,11 +1,83 @@
 package com.financetracker.config;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.math.BigDecimal;
+import java.util.List;
+
+@Slf4j
 @Configuration
+@RequiredArgsConstructor
 @EnableMongoRepositories(basePackages = "com.financetracker.repository")
 public class MongoConfig {
-    // MongoDB configuration is handled via application.yml
+    // MongoDB connection is configured via application.yml
     // Auditing is enabled in FinanceTrackerApplication.java
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    /**
+     * Stores BigDecimal as Decimal128 rather than the default string, so amounts sort numerically
+     * and $sum/$avg work server-side without losing precision. Static because the template and
+     * mapping context this class depends on are themselves built from these conversions.
+     */
+    @Bean
+    public static MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new BigDecimalToDecimal128Converter(),
+                new Decimal128ToBigDecimalConverter()));
+    }
+
+    /**
+     * Creates the indexes declared on the entities. Spring Boot no longer does this automatically,
+     * and doing it here keeps a Mongo outage at boot from failing the whole context.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        try {
+            for (MongoPersistentEntity<?> entity : mongoMappingContext.getPersistentEntities()) {
+                if (entity.isAnnotationPresent(Document.class)) {
+                    IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+                    resolver.resolveIndexFor(entity.getType()).forEach(indexOps::ensureIndex);
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Could not ensure MongoDB indexes: {}", ex.getMessage());
+        }
+    }
+
+    @WritingConverter
+    static class BigDecimalToDecimal128Converter implements Converter<BigDecimal, Decimal128> {
+        @Override
+        public Decimal128 convert(BigDecimal source) {
+            return new Decimal128(source);
+        }
+    }
+
+    @ReadingConverter
+    static class Decimal128ToBigDecimalConverter implements Converter<Decimal128, BigDecimal> {
+        @Override
+        public BigDecimal convert(Decimal128 source) {
+            return source.bigDecimalValue();
+        }
+    }
 }
@@ -0,0 +1,173 @@
+package com.financetracker.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Explains every query shape the repositories issue and reports any that would fall back to a
+ * collection scan or an in-memory sort. With fail-on-violation set, startup is aborted instead,
+ * also when the plans cannot be explained at all. This is how CI and local runs against a Mongo
+ * stand-in catch a missing index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexVerifier {
+
+    private static final Set<String> FORBIDDEN_STAGES = Set.of("COLLSCAN", "SORT");
+    private static final String SAMPLE_USER_ID = "000000000000000000000000";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongo.index-verification.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mongo.index-verification.fail-on-violation:false}")
+    private boolean failOnViolation;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        try {
+            queryShapes().forEach((name, explainCommand) -> {
+                Document explain = mongoTemplate.getDb().runCommand(
+                        new Document("explain", explainCommand).append("verbosity", "queryPlanner"));
+                List<String> stages = new ArrayList<>();
+                collectWinningPlanStages(explain, false, stages);
+                List<String> forbidden = stages.stream().filter(FORBIDDEN_STAGES::contains).toList();
+                if (forbidden.isEmpty()) {
+                    log.debug("Query shape {} uses plan {}", name, stages);
+                } else {
+                    violations.add(name + " " + forbidden);
+                }
+            });
+        } catch (Exception ex) {
+            // An unverifiable plan is no proof of an index, so a strict run fails on it too
+            if (failOnViolation) {
+                throw new IllegalStateException("Could not verify MongoDB query plans", ex);
+            }
+            log.error("Could not verify MongoDB query plans: {}", ex.getMessage());
+            return;
+        }
+
+        if (violations.isEmpty()) {
+            log.info("All MongoDB query shapes are served by an index");
+        } else if (failOnViolation) {
+            throw new IllegalStateException("Query shapes without a supporting index: " + violations);
+        } else {
+            log.error("Query shapes without a supporting index: {}", violations);
+        }
+    }
+
+    private Map<String, Document> queryShapes() {
+        Date from = new Date(0);
+        Date to = new Date();
+        Document dateRange = new Document("$gte", from).append("$lte", to);
+
+        Map<String, Document> shapes = new LinkedHashMap<>();
+        shapes.put("expenses.findByUserId(pageable, date desc)", find("expenses",
+                new Document("userId", SAMPLE_USER_ID),
+                new Document("date", -1)));
+        shapes.put("expenses.keysetPage(date desc, _id desc)", find("expenses",
+                new Document("userId", SAMPLE_USER_ID).append("$or", List.of(
+                        new Document("date", new Document("$lt", to)),
+                        new Document("date", to).append("_id", new Document("$lt", new ObjectId())))),
+                new Document("date", -1).append("_id", -1)));
+        shapes.put("expenses.findByUserIdAndDateBetween(date desc, _id desc)", find("expenses",
+                new Document("userId", SAMPLE_USER_ID).append("date", dateRange),
+                new Document("date", -1).append("_id", -1)));
+        shapes.put("expenses.findByUserIdAndCategory(date desc, _id desc)", find("expenses",
+                new Document("userId", SAMPLE_USER_ID).append("category", "Other"),
+                new Document("date", -1).append("_id", -1)));
+        shapes.put("expenses.findByUserIdAndCategoryAndDateBetween", find("expenses",
+                new Document("userId", SAMPLE_USER_ID).append("category", "Other").append("date", dateRange),
+                null));
+        shapes.put("expenses.query(categories, date sort)", find("expenses",
+                new Document("userId", SAMPLE_USER_ID)
+                        .append("category", new Document("$in", List.of("Other", "Travel")))
+                        .append("date", dateRange),
+                new Document("date", -1).append("_id", -1)));
+        shapes.put("expenses.query(amount range, amount sort)", find("expenses",
+                new Document("userId", SAMPLE_USER_ID)
+                        .append("amount", new Document("$gte", new Decimal128(BigDecimal.ONE))),
+                new Document("amount", -1).append("_id", -1)));
+        // Aggregation shapes stop at the first $group: everything after it works on grouped rows in memory
+        shapes.put("expenses.getMonthlyStatsByUserIdAndDateBetween", aggregate("expenses", List.of(
+                new Document("$match", new Document("userId", SAMPLE_USER_ID).append("date", dateRange)),
+                new Document("$group", new Document("_id", "$category")
+                        .append("total", new Document("$sum", "$amount"))
+                        .append("count", new Document("$sum", 1))))));
+        shapes.put("expenses.spendingTrends($dateTrunc)", aggregate("expenses", List.of(
+                new Document("$match", new Document("userId", SAMPLE_USER_ID).append("date", dateRange)),
+                new Document("$group", new Document("_id", new Document("$dateTrunc",
+                        new Document("date", "$date").append("unit", "day")))
+                        .append("total", new Document("$sum", "$amount"))))));
+        shapes.put("expenses.search(searchTerms prefix)", find("expenses",
+                new Document("userId", SAMPLE_USER_ID)
+                        .append("searchTerms", new Document("$all", List.of(Pattern.compile("^gro")))),
+                null));
+        shapes.put("category_usage.findByUserIdAndCountGreaterThan", find("category_usage",
+                new Document("userId", SAMPLE_USER_ID).append("count", new Document("$gt", 0)),
+                null));
+        shapes.put("user_monthly_rollups.findByUserIdAndMonthRange", find("user_monthly_rollups",
+                new Document("userId", SAMPLE_USER_ID)
+                        .append("month", new Document("$gte", "2000-01").append("$lte", "2099-12")),
+                null));
+        shapes.put("split_bills.keysetPage(_id desc)", find("split_bills",
+                new Document("userId", SAMPLE_USER_ID).append("_id", new Document("$lt", new ObjectId())),
+                new Document("_id", -1)));
+        shapes.put("savings_goals.keysetPage(_id desc)", find("savings_goals",
+                new Document("userId", SAMPLE_USER_ID).append("_id", new Document("$lt", new ObjectId())),
+                new Document("_id", -1)));
+        return shapes;
+    }
+
+    private static Document find(String collection, Document filter, Document sort) {
+        Document command = new Document("find", collection).append("filter", filter);
+        if (sort != null) {
+            command.append("sort", sort).append("limit", 20);
+        }
+        return command;
+    }
+
+    private static Document aggregate(String collection, List<Document> pipeline) {
+        return new Document("aggregate", collection)
+                .append("pipeline", pipeline)
+                .append("cursor", new Document());
+    }
+
+    private static void collectWinningPlanStages(Object node, boolean inWinningPlan, List<String> stages) {
+        if (node instanceof Document document) {
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                boolean winning = inWinningPlan || "winningPlan".equals(entry.getKey());
+                if (winning && "stage".equals(entry.getKey()) && entry.getValue() instanceof String stage) {
+                    stages.add(stage);
+                }
+                collectWinningPlanStages(entry.getValue(), winning, stages);
+            }
+        } else if (node instanceof List<?> list) {
+            list.forEach(item -> collectWinningPlanStages(item, inWinningPlan, stages));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.financetracker.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Use the first X-Forwarded-For entry as the client IP; only enable behind a trusted proxy
+    private boolean trustForwardedHeaders = false;
+
+    private long maxBuckets = 100_000;
+
+    private long idleEvictionSeconds = 600;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String path;
+        private Limit perIp;
+        private Limit perEmail;
+    }
+
+    @Data
+    public static class Limit {
+        private int capacity;
+        private int refillPerMinute;
+    }
+}
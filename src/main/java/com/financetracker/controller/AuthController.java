@@ -3,6 +3,7 @@ package com.financetracker.controller;
 import com.financetracker.dto.ApiResponse;
 import com.financetracker.dto.auth.AuthResponse;
 import com.financetracker.dto.auth.LoginRequest;
+import com.financetracker.dto.auth.RefreshTokenRequest;
 import com.financetracker.dto.auth.RegisterRequest;
 import com.financetracker.service.AuthService;
 import jakarta.validation.Valid;
@@ -38,4 +39,18 @@ public class AuthController {
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("Token refresh request received");
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(ApiResponse.success("Token refreshed successfully", response));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestBody(required = false) RefreshTokenRequest request) {
+        log.info("Logout request received");
+        authService.logout(request);
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully"));
+    }
 }
@@ -0,0 +1,34 @@
+package com.financetracker.controller;
+
+import com.financetracker.dto.ApiResponse;
+import com.financetracker.util.CappedList;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Responses for the list endpoints that stop at pagination.max-list-results rows. A cut list is
+ * flagged with X-Result-Truncated and a Link to the first page of the same endpoint in cursor mode.
+ */
+public final class CappedListResponses {
+
+    public static final String TRUNCATED_HEADER = "X-Result-Truncated";
+
+    private CappedListResponses() {
+    }
+
+    static <T> ResponseEntity<ApiResponse<List<T>>> ok(CappedList<T> list) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (list.truncated()) {
+            String firstPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", "")
+                    .build()
+                    .toUriString();
+            response.header(TRUNCATED_HEADER, "true")
+                    .header(HttpHeaders.LINK, "<" + firstPage + ">; rel=\"first\"");
+        }
+        return response.body(ApiResponse.success(list.items()));
+    }
+}
@@ -4,14 +4,20 @@ import com.financetracker.dto.ApiResponse;
 import com.financetracker.dto.CategoryBreakdownDto;
 import com.financetracker.dto.DashboardStatsDto;
 import com.financetracker.dto.MonthlyTrendDto;
+import com.financetracker.dto.SpendingTrendsDto;
+import com.financetracker.dto.TrendGranularity;
 import com.financetracker.service.DashboardService;
+import com.financetracker.service.DashboardStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,11 +28,16 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardStreamService dashboardStreamService;
 
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<DashboardStatsDto>> getStats() {
         log.info("Fetching dashboard stats");
         DashboardStatsDto stats = dashboardService.getStats();
+        if (stats.getUnavailable() != null && !stats.getUnavailable().isEmpty()) {
+            // A partial answer must not be revalidated against the data version ETag later
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(ApiResponse.success(stats));
+        }
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
 
@@ -44,4 +55,24 @@ public class DashboardController {
         List<MonthlyTrendDto> trends = dashboardService.getSpendingTrends(months);
         return ResponseEntity.ok(ApiResponse.success(trends));
     }
+
+    @GetMapping(value = "/spending-trends", params = "granularity")
+    public ResponseEntity<ApiResponse<SpendingTrendsDto>> getSpendingTrends(
+            @RequestParam String granularity,
+            @RequestParam(defaultValue = "6") Integer months,
+            @RequestParam(defaultValue = "false") boolean byCategory) {
+        log.info("Fetching {} spending trends for last {} months", granularity, months);
+        SpendingTrendsDto trends = dashboardService.getSpendingTrends(months, TrendGranularity.from(granularity), byCategory);
+        return ResponseEntity.ok(ApiResponse.success(trends));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        log.info("Opening dashboard change stream");
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Stops reverse proxies from buffering events until the response ends
+                .header("X-Accel-Buffering", "no")
+                .body(dashboardStreamService.subscribe());
+    }
 }
@@ -2,8 +2,18 @@ package com.financetracker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.financetracker.dto.ApiResponse;
+import com.financetracker.dto.BulkExpenseRequest;
+import com.financetracker.dto.BulkExpenseResponseDto;
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.ExpenseDto;
+import com.financetracker.dto.ExpenseQueryRequest;
+import com.financetracker.dto.ExportFormat;
+import com.financetracker.dto.ImportJobDto;
 import com.financetracker.dto.MonthlyExpenseStatsDto;
+import com.financetracker.service.ExpenseExportService;
+import com.financetracker.service.ExpenseImportService;
+import com.financetracker.service.ExpenseQueryService;
+import com.financetracker.service.ExpenseSearchService;
 import com.financetracker.service.ExpenseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,9 +23,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -27,6 +41,10 @@ import java.util.List;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseSearchService expenseSearchService;
+    private final ExpenseQueryService expenseQueryService;
     private final ObjectMapper objectMapper;
 
     @GetMapping
@@ -37,6 +55,99 @@ public class ExpenseController {
         return ResponseEntity.ok(ApiResponse.success(expenses));
     }
 
+    /**
+     * Keyset pagination, selected by the presence of the cursor parameter.
+     * Pass an empty cursor for the first page, then the returned nextCursor.
+     * Description, notes and bill photo are only included with details=true.
+     */
+    @GetMapping(params = {"cursor", "!ids"})
+    public ResponseEntity<ApiResponse<CursorPageDto<ExpenseDto>>> getExpensesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(defaultValue = "false") boolean details) {
+        log.info("Fetching expenses by cursor");
+        CursorPageDto<ExpenseDto> expenses = expenseService.getExpensesPage(cursor, size, includeTotal, details);
+        return ResponseEntity.ok(ApiResponse.success(expenses));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<List<ExpenseDto>>> getExpensesByIds(@RequestParam List<String> ids) {
+        log.info("Fetching {} expenses by id", ids.size());
+        List<ExpenseDto> expenses = expenseService.getExpensesByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success(expenses));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkExpenseResponseDto>> bulkWrite(
+            @Valid @RequestBody BulkExpenseRequest request) {
+        log.info("Applying {} bulk expense operations", request.getOperations().size());
+        BulkExpenseResponseDto response = expenseService.bulkWrite(request);
+        return ResponseEntity.ok(ApiResponse.success("Bulk operations processed", response));
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<ApiResponse<Page<ExpenseDto>>> queryExpenses(ExpenseQueryRequest request) {
+        log.info("Querying expenses with filters: {}", request);
+        Page<ExpenseDto> expenses = expenseQueryService.query(request);
+        return ResponseEntity.ok(ApiResponse.success(expenses));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Page<ExpenseDto>>> searchExpenses(
+            @RequestParam String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching expenses");
+        Page<ExpenseDto> expenses = expenseSearchService.search(q, from, to, category, page, size);
+        return ResponseEntity.ok(ApiResponse.success(expenses));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Exporting expenses as {} from {} to {}", format, from, to);
+        ExportFormat exportFormat = ExportFormat.from(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = expenseExportService.exportExpenses(exportFormat, from, to, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("expenses." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {"multipart/form-data"})
+    public ResponseEntity<ApiResponse<ImportJobDto>> importExpenses(
+            @RequestPart("file") org.springframework.web.multipart.MultipartFile file,
+            @RequestParam(required = false) String format) {
+        log.info("Starting expense import from {}", file.getOriginalFilename());
+        ImportJobDto job = expenseImportService.startImport(file, format);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Import started", job));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobDto>> getImportJob(@PathVariable String jobId) {
+        log.info("Fetching import job: {}", jobId);
+        ImportJobDto job = expenseImportService.getImportJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ExpenseDto>> getExpenseById(@PathVariable String id) {
         log.info("Fetching expense by ID: {}", id);
@@ -101,14 +212,36 @@ public class ExpenseController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         log.info("Fetching expenses from {} to {}", startDate, endDate);
-        List<ExpenseDto> expenses = expenseService.getExpensesByDateRange(startDate, endDate);
+        return CappedListResponses.ok(expenseService.getExpensesByDateRange(startDate, endDate));
+    }
+
+    @GetMapping(value = "/filter", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDto<ExpenseDto>>> getExpensesByDateRangePage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean details) {
+        log.info("Fetching expense page from {} to {}", startDate, endDate);
+        CursorPageDto<ExpenseDto> expenses = expenseService.getExpensesByDateRangePage(
+                startDate, endDate, cursor, size, details);
         return ResponseEntity.ok(ApiResponse.success(expenses));
     }
 
     @GetMapping("/category/{category}")
     public ResponseEntity<ApiResponse<List<ExpenseDto>>> getExpensesByCategory(@PathVariable String category) {
         log.info("Fetching expenses by category: {}", category);
-        List<ExpenseDto> expenses = expenseService.getExpensesByCategory(category);
+        return CappedListResponses.ok(expenseService.getExpensesByCategory(category));
+    }
+
+    @GetMapping(value = "/category/{category}", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDto<ExpenseDto>>> getExpensesByCategoryPage(
+            @PathVariable String category,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean details) {
+        log.info("Fetching expense page by category: {}", category);
+        CursorPageDto<ExpenseDto> expenses = expenseService.getExpensesByCategoryPage(category, cursor, size, details);
         return ResponseEntity.ok(ApiResponse.success(expenses));
     }
 }
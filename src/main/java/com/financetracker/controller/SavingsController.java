@@ -1,6 +1,7 @@
 package com.financetracker.controller;
 
 import com.financetracker.dto.ApiResponse;
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.DepositRequest;
 import com.financetracker.dto.SavingsGoalDto;
 import com.financetracker.dto.SavingsProgressDto;
@@ -25,7 +26,20 @@ public class SavingsController {
     @GetMapping("/goals")
     public ResponseEntity<ApiResponse<List<SavingsGoalDto>>> getAllGoals() {
         log.info("Fetching all savings goals");
-        List<SavingsGoalDto> goals = savingsGoalService.getAllGoals();
+        return CappedListResponses.ok(savingsGoalService.getAllGoals());
+    }
+
+    /**
+     * Newest-first keyset pagination, selected by the presence of the cursor parameter.
+     * The description is only included with details=true.
+     */
+    @GetMapping(value = "/goals", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDto<SavingsGoalDto>>> getGoalsPage(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean details) {
+        log.info("Fetching savings goals by cursor");
+        CursorPageDto<SavingsGoalDto> goals = savingsGoalService.getGoalsPage(cursor, size, details);
         return ResponseEntity.ok(ApiResponse.success(goals));
     }
 
@@ -1,6 +1,7 @@
 package com.financetracker.controller;
 
 import com.financetracker.dto.ApiResponse;
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.ParticipantDto;
 import com.financetracker.dto.SplitBillDto;
 import com.financetracker.dto.SplitBillSummaryDto;
@@ -25,7 +26,20 @@ public class SplitBillController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<SplitBillDto>>> getAllSplitBills() {
         log.info("Fetching all split bills");
-        List<SplitBillDto> splitBills = splitBillService.getAllSplitBills();
+        return CappedListResponses.ok(splitBillService.getAllSplitBills());
+    }
+
+    /**
+     * Newest-first keyset pagination, selected by the presence of the cursor parameter.
+     * The description is only included with details=true.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDto<SplitBillDto>>> getSplitBillsPage(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean details) {
+        log.info("Fetching split bills by cursor");
+        CursorPageDto<SplitBillDto> splitBills = splitBillService.getSplitBillsPage(cursor, size, details);
         return ResponseEntity.ok(ApiResponse.success(splitBills));
     }
 
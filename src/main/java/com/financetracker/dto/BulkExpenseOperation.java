@@ -0,0 +1,27 @@
+package com.financetracker.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExpenseOperation {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    @NotNull(message = "Operation type is required")
+    private Type op;
+
+    private String id; // required for UPDATE and DELETE
+
+    private ExpenseDto expense; // required for CREATE and UPDATE
+}
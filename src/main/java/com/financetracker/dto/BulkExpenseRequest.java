@@ -0,0 +1,21 @@
+package com.financetracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExpenseRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Valid
+    private List<BulkExpenseOperation> operations;
+}
@@ -0,0 +1,19 @@
+package com.financetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExpenseResponseDto {
+
+    private Integer succeeded;
+    private Integer failed;
+    private List<BulkExpenseResultDto> results;
+}
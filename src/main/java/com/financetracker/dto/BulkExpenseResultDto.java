@@ -0,0 +1,28 @@
+package com.financetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExpenseResultDto {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        INVALID,
+        FAILED
+    }
+
+    private Integer index; // position of the operation in the request
+    private BulkExpenseOperation.Type op;
+    private String id;
+    private Status status;
+    private String message;
+}
@@ -1,5 +1,6 @@
 package com.financetracker.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,4 +25,6 @@ public class DashboardStatsDto {
     private Integer activeGoals;
     private Integer completedGoals;
     private Integer pendingSplitBills;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> unavailable; // Sections whose query failed or timed out; their fields are null
 }
@@ -0,0 +1,17 @@
+package com.financetracker.dto;
+
+import com.financetracker.entity.UserDataVersion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataChangeEventDto {
+
+    private UserDataVersion.Dataset dataset;
+    private Long version; // Absent when the write's version could not be recorded
+}
@@ -0,0 +1,49 @@
+package com.financetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filters for GET /api/expenses/query, bound from request parameters. Every filter is optional.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseQueryRequest {
+
+    private List<String> categories;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+
+    private Boolean hasNotes;
+
+    private Boolean hasBillPhoto;
+
+    @Builder.Default
+    private String sort = "date"; // date or amount
+
+    @Builder.Default
+    private String direction = "desc";
+
+    @Builder.Default
+    private Integer page = 0;
+
+    @Builder.Default
+    private Integer size = 20;
+}
@@ -0,0 +1,38 @@
+package com.financetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDto {
+
+    private String id;
+    private String format;
+    private String fileName;
+    private String status;
+    private Long processedRows;
+    private Long importedRows;
+    private Long skippedRows;
+    private Long failedRows;
+    private List<RowErrorDto> errors;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowErrorDto {
+        private Long line;
+        private String message;
+    }
+}
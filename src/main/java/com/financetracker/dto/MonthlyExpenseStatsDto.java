@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @Builder
@@ -20,4 +21,5 @@ public class MonthlyExpenseStatsDto {
     private BigDecimal averageAmount;
     private String topCategory;
     private BigDecimal topCategoryAmount;
+    private List<CategoryBreakdownDto> categoryBreakdown;
 }
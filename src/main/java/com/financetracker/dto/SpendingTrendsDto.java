@@ -0,0 +1,25 @@
+package com.financetracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SpendingTrendsDto {
+
+    private TrendGranularity granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private List<String> categories; // Every category in the range, largest total first; pivot only
+    private List<TrendBucketDto> buckets;
+    private long queryTimeMs;
+}
@@ -0,0 +1,25 @@
+package com.financetracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrendBucketDto {
+
+    private LocalDate start;
+    private String label;
+    private BigDecimal amount;
+    private Long count;
+    private Map<String, BigDecimal> categories; // Only populated for the category pivot
+}
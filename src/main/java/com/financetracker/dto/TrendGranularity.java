@@ -0,0 +1,58 @@
+package com.financetracker.dto;
+
+import com.financetracker.exception.BadRequestException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+public enum TrendGranularity {
+
+    DAY,
+    WEEK,
+    MONTH,
+    YEAR;
+
+    /**
+     * First day of the bucket containing the date; weeks start on Monday.
+     */
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case YEAR -> bucketStart.plusYears(1);
+        };
+    }
+
+    public String label(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.toString();
+            case WEEK -> String.format("%d-W%02d",
+                    bucketStart.get(IsoFields.WEEK_BASED_YEAR), bucketStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> bucketStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + bucketStart.getYear();
+            case YEAR -> String.valueOf(bucketStart.getYear());
+        };
+    }
+
+    public static TrendGranularity from(String value) {
+        for (TrendGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new BadRequestException("Unsupported trend granularity: " + value);
+    }
+}
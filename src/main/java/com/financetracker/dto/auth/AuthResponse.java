@@ -13,6 +13,8 @@ public class AuthResponse {
 
     private String token;
     private String tokenType;
+    private Long expiresIn;
+    private String refreshToken;
     private UserDto user;
 
     @Data
@@ -0,0 +1,34 @@
+package com.financetracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * How many of a user's expenses carry a category; maintained with $inc on every expense write.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "category_usage")
+@CompoundIndex(name = "user_category_idx", def = "{'userId': 1, 'category': 1}", unique = true)
+public class CategoryUsage {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String category;
+
+    private long count;
+
+    private LocalDateTime updatedAt;
+}
@@ -7,24 +7,28 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "expenses")
+@CompoundIndex(name = "user_date_id_idx", def = "{'userId': 1, 'date': -1, '_id': -1}")
+@CompoundIndex(name = "user_category_date_id_idx", def = "{'userId': 1, 'category': 1, 'date': -1, '_id': -1}")
+@CompoundIndex(name = "user_amount_id_idx", def = "{'userId': 1, 'amount': -1, '_id': -1}")
+@CompoundIndex(name = "user_search_terms_idx", def = "{'userId': 1, 'searchTerms': 1}")
 public class Expense {
 
     @Id
     private String id;
 
-    @Indexed
     private String userId;
 
     private BigDecimal amount;
@@ -39,6 +43,8 @@ public class Expense {
 
     private String billPhoto; // Stores filename of uploaded bill photo
 
+    private List<String> searchTerms; // derived from description and notes on every write
+
     @CreatedDate
     private LocalDateTime createdAt;
 
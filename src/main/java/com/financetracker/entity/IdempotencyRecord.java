@@ -0,0 +1,42 @@
+package com.financetracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    @Id
+    private String id; // SHA-256 of userId and the client's Idempotency-Key
+
+    private String userId;
+
+    private String fingerprint; // method, path and body hash of the first request
+
+    private Status status;
+
+    private Integer responseStatus;
+
+    private String responseContentType;
+
+    private byte[] responseBody;
+
+    @Indexed(expireAfter = "24h")
+    private LocalDateTime createdAt;
+}
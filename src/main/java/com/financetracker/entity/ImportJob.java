@@ -0,0 +1,77 @@
+package com.financetracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "import_jobs")
+public class ImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String userId;
+
+    private String format;
+
+    private String fileName;
+
+    @Builder.Default
+    private Status status = Status.QUEUED;
+
+    private long processedRows;
+
+    private long importedRows;
+
+    private long skippedRows; // bank credits, which are not expenses
+
+    private long failedRows;
+
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>(); // capped, see expense.import.max-reported-errors
+
+    private String message;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime heartbeatAt; // refreshed by the instance holding the job, queued or running
+
+    @Indexed(expireAfter = "7d")
+    private LocalDateTime completedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.financetracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Spending total and expense count for one user, month and category. Kept current with $inc on
+ * every expense write and rebuilt from the expenses by the nightly reconciliation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "user_monthly_rollups")
+@CompoundIndex(name = "user_month_category_idx", def = "{'userId': 1, 'month': 1, 'category': 1}", unique = true)
+public class MonthlyRollup {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String month; // yyyy-MM, in the server's time zone
+
+    private String category;
+
+    private BigDecimal total;
+
+    private long count;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime reconciledAt;
+}
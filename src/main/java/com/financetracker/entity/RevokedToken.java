@@ -0,0 +1,30 @@
+package com.financetracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private String id; // JWT id (jti) of the revoked access token
+
+    private String userId;
+
+    @Indexed(expireAfter = "0s")
+    private LocalDateTime expiresAt;
+
+    @Indexed
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,38 @@
+package com.financetracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user write counters, one per dataset, bumped by the service layer on every write.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "user_data_versions")
+public class UserDataVersion {
+
+    public enum Dataset {
+        EXPENSES,
+        BUDGETS,
+        SAVINGS_GOALS,
+        SPLIT_BILLS
+    }
+
+    @Id
+    private String userId;
+
+    @Builder.Default
+    private Map<Dataset, Long> versions = new HashMap<>();
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,144 @@
+package com.financetracker.importer;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * RFC 4180 CSV with a header row. Columns are matched by name, so the file produced by
+ * the expense export can be imported again as is.
+ */
+class CsvExpenseParser implements ExpenseFileParser {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/uuuu"),
+            DateTimeFormatter.ofPattern("d.M.uuuu"));
+
+    private long line = 1;
+
+    @Override
+    public void parse(Reader source, Consumer<ImportRow> sink) throws IOException {
+        PushbackReader reader = new PushbackReader(source, 1);
+        skipByteOrderMark(reader);
+
+        List<String> header = readRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("date", "amount", "description")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+            }
+        }
+
+        long recordLine = line;
+        List<String> record;
+        while ((record = readRecord(reader)) != null) {
+            if (!(record.size() == 1 && record.get(0).isBlank())) {
+                sink.accept(new ImportRow(recordLine,
+                        column(record, columns, "date"),
+                        column(record, columns, "amount"),
+                        column(record, columns, "description"),
+                        column(record, columns, "category"),
+                        column(record, columns, "notes")));
+            }
+            recordLine = line;
+        }
+    }
+
+    @Override
+    public LocalDate parseDate(String value) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        throw new DateTimeParseException("Unrecognised date", value, 0);
+    }
+
+    @Override
+    public boolean signedAmounts() {
+        return false;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    /**
+     * Reads one record, honouring quoted fields that contain commas, quotes or line breaks.
+     * Returns null at end of input.
+     */
+    private List<String> readRecord(PushbackReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.unread(next);
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = reader.read();
+                    if (next != '\n' && next != -1) {
+                        reader.unread(next);
+                    }
+                }
+                line++;
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void skipByteOrderMark(PushbackReader reader) throws IOException {
+        int first = reader.read();
+        if (first != -1 && first != '\uFEFF') {
+            reader.unread(first);
+        }
+    }
+}
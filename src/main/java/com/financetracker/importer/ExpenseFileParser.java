@@ -0,0 +1,25 @@
+package com.financetracker.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Reads an import file record by record and hands each one to the sink, so files of any
+ * size are parsed without being held in memory.
+ */
+public interface ExpenseFileParser {
+
+    void parse(Reader reader, Consumer<ImportRow> sink) throws IOException;
+
+    /**
+     * @throws java.time.format.DateTimeParseException if the value is not a date this format uses
+     */
+    LocalDate parseDate(String value);
+
+    /**
+     * Bank formats sign amounts from the account's point of view: money out is negative.
+     */
+    boolean signedAmounts();
+}
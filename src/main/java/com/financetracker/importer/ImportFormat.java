@@ -0,0 +1,45 @@
+package com.financetracker.importer;
+
+import com.financetracker.exception.BadRequestException;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+public enum ImportFormat {
+
+    CSV(CsvExpenseParser::new, "csv"),
+    OFX(OfxExpenseParser::new, "ofx", "qfx"),
+    QIF(QifExpenseParser::new, "qif");
+
+    private final Supplier<ExpenseFileParser> parserFactory;
+    private final String[] extensions;
+
+    ImportFormat(Supplier<ExpenseFileParser> parserFactory, String... extensions) {
+        this.parserFactory = parserFactory;
+        this.extensions = extensions;
+    }
+
+    public ExpenseFileParser newParser() {
+        return parserFactory.get();
+    }
+
+    /**
+     * Uses the explicit format if given, otherwise the file extension.
+     */
+    public static ImportFormat resolve(String format, String fileName) {
+        String key = format;
+        if (key == null || key.isBlank()) {
+            int dot = fileName != null ? fileName.lastIndexOf('.') : -1;
+            key = dot >= 0 ? fileName.substring(dot + 1) : "";
+        }
+        String normalized = key.trim().toLowerCase(Locale.ROOT);
+        for (ImportFormat candidate : values()) {
+            for (String extension : candidate.extensions) {
+                if (extension.equals(normalized)) {
+                    return candidate;
+                }
+            }
+        }
+        throw new BadRequestException("Unsupported import format: " + key + " (expected csv, ofx or qif)");
+    }
+}
@@ -0,0 +1,8 @@
+package com.financetracker.importer;
+
+/**
+ * One raw record from an import file, before validation. Values are kept as text so that
+ * parse failures can be reported against the line they came from.
+ */
+public record ImportRow(long line, String date, String amount, String description, String category, String notes) {
+}
@@ -0,0 +1,101 @@
+package com.financetracker.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * OFX/QFX bank statements. A small tag scanner handles both the SGML (1.x, unclosed tags)
+ * and XML (2.x) variants; only the fields of each STMTTRN block are kept.
+ */
+class OfxExpenseParser implements ExpenseFileParser {
+
+    private static final int MAX_VALUE_LENGTH = 1024;
+
+    @Override
+    public void parse(Reader reader, Consumer<ImportRow> sink) throws IOException {
+        Map<String, String> transaction = null;
+        String currentTag = null;
+        StringBuilder text = new StringBuilder();
+        long ordinal = 0;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c != '<') {
+                if (transaction != null && currentTag != null && text.length() < MAX_VALUE_LENGTH) {
+                    text.append((char) c);
+                }
+                continue;
+            }
+
+            if (transaction != null && currentTag != null && !text.toString().isBlank()) {
+                transaction.put(currentTag, unescape(text.toString().trim()));
+            }
+            text.setLength(0);
+
+            String tag = readTag(reader);
+            if (tag.equals("STMTTRN")) {
+                transaction = new HashMap<>();
+                currentTag = null;
+            } else if (tag.equals("/STMTTRN")) {
+                if (transaction != null) {
+                    ordinal++;
+                    String name = transaction.get("NAME");
+                    String memo = transaction.get("MEMO");
+                    sink.accept(new ImportRow(ordinal,
+                            transaction.get("DTPOSTED"),
+                            transaction.get("TRNAMT"),
+                            name != null ? name : memo,
+                            null,
+                            name != null ? memo : null));
+                }
+                transaction = null;
+                currentTag = null;
+            } else {
+                currentTag = tag.startsWith("/") ? null : tag;
+            }
+        }
+    }
+
+    @Override
+    public LocalDate parseDate(String value) {
+        // DTPOSTED is YYYYMMDD optionally followed by time and zone, e.g. 20260126120000[-5:EST]
+        if (value.length() < 8) {
+            throw new DateTimeParseException("Unrecognised date", value, 0);
+        }
+        return LocalDate.parse(value.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    @Override
+    public boolean signedAmounts() {
+        return true;
+    }
+
+    private static String readTag(Reader reader) throws IOException {
+        StringBuilder tag = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '>') {
+            if (tag.length() < MAX_VALUE_LENGTH) {
+                tag.append((char) c);
+            }
+        }
+        return tag.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,91 @@
+package com.financetracker.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Quicken Interchange Format. Each record is a run of single-letter fields ending in '^';
+ * header lines ('!Type:Bank' etc.) and split lines are ignored.
+ */
+class QifExpenseParser implements ExpenseFileParser {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("M/d/uuuu"),
+            DateTimeFormatter.ofPattern("M/d/uu"),
+            DateTimeFormatter.ISO_LOCAL_DATE);
+
+    @Override
+    public void parse(Reader source, Consumer<ImportRow> sink) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        long lineNumber = 0;
+        long recordLine = 1;
+        String date = null;
+        String amount = null;
+        String payee = null;
+        String memo = null;
+        String category = null;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || line.charAt(0) == '!') {
+                recordLine = lineNumber + 1;
+                continue;
+            }
+            String value = line.substring(1).trim();
+            switch (line.charAt(0)) {
+                case 'D' -> date = value;
+                case 'T' -> amount = value;
+                case 'U' -> amount = amount != null ? amount : value;
+                case 'P' -> payee = value;
+                case 'M' -> memo = value;
+                case 'L' -> category = categoryOf(value);
+                case '^' -> {
+                    if (date != null || amount != null || payee != null) {
+                        sink.accept(new ImportRow(recordLine, date, amount,
+                                payee != null ? payee : memo, category, payee != null ? memo : null));
+                    }
+                    date = amount = payee = memo = category = null;
+                    recordLine = lineNumber + 1;
+                }
+                default -> {
+                    // number, cleared status, address and split fields are not imported
+                }
+            }
+        }
+    }
+
+    @Override
+    public LocalDate parseDate(String value) {
+        // Quicken writes years after 1999 as e.g. 1/26'26
+        String normalized = value.replace('\'', '/').replace(" ", "");
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(normalized, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        throw new DateTimeParseException("Unrecognised date", value, 0);
+    }
+
+    @Override
+    public boolean signedAmounts() {
+        return true;
+    }
+
+    private static String categoryOf(String value) {
+        // [Account] denotes a transfer, not a category
+        if (value.isEmpty() || value.startsWith("[")) {
+            return null;
+        }
+        int split = value.indexOf('/');
+        return split > 0 ? value.substring(0, split) : value;
+    }
+}
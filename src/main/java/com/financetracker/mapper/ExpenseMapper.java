@@ -3,6 +3,7 @@ package com.financetracker.mapper;
 import com.financetracker.dto.ExpenseDto;
 import com.financetracker.entity.Expense;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 import java.util.List;
@@ -12,9 +13,12 @@ public interface ExpenseMapper {
 
     ExpenseDto toDto(Expense expense);
 
+    // Derived from description and notes by ExpenseSearchTermsListener on save
+    @Mapping(target = "searchTerms", ignore = true)
     Expense toEntity(ExpenseDto expenseDto);
 
     List<ExpenseDto> toDtoList(List<Expense> expenses);
 
+    @Mapping(target = "searchTerms", ignore = true)
     void updateEntity(ExpenseDto expenseDto, @MappingTarget Expense expense);
 }
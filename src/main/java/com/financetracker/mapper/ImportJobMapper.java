@@ -0,0 +1,13 @@
+package com.financetracker.mapper;
+
+import com.financetracker.dto.ImportJobDto;
+import com.financetracker.entity.ImportJob;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ImportJobMapper {
+
+    ImportJobDto toDto(ImportJob importJob);
+
+    ImportJobDto.RowErrorDto toDto(ImportJob.RowError rowError);
+}
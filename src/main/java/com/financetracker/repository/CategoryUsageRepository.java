@@ -0,0 +1,13 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.CategoryUsage;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryUsageRepository extends MongoRepository<CategoryUsage, String> {
+
+    List<CategoryUsage> findByUserIdAndCountGreaterThan(String userId, long count);
+}
@@ -0,0 +1,11 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.EmailOutboxMessage;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmailOutboxRepository extends MongoRepository<EmailOutboxMessage, String> {
+
+    long countByStatus(EmailOutboxMessage.Status status);
+}
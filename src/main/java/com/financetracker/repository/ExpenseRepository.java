@@ -1,14 +1,18 @@
 package com.financetracker.repository;
 
 import com.financetracker.entity.Expense;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,31 +20,35 @@ public interface ExpenseRepository extends MongoRepository<Expense, String> {
 
     Page<Expense> findByUserId(String userId, Pageable pageable);
 
-    List<Expense> findByUserId(String userId);
+    long countByUserId(String userId);
 
-    List<Expense> findByUserIdAndCategory(String userId, String category);
+    List<Expense> findByIdInAndUserId(Collection<String> ids, String userId);
 
-    List<Expense> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+    @Query(value = "{ _id: { $in: ?0 }, userId: ?1 }", fields = "{ _id: 1, date: 1, amount: 1, category: 1 }")
+    List<Expense> findOwnedSnapshots(Collection<String> ids, String userId);
+
+    List<Expense> findByUserIdAndCategory(String userId, String category, Sort sort, Limit limit);
+
+    List<Expense> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate, Sort sort, Limit limit);
 
     @Query("{'userId': ?0, 'category': ?1, 'date': {$gte: ?2, $lte: ?3}}")
     List<Expense> findByUserIdAndCategoryAndDateBetween(String userId, String category, LocalDate startDate, LocalDate endDate);
 
     @Aggregation(pipeline = {
             "{ $match: { userId: ?0, date: { $gte: ?1, $lte: ?2 } } }",
-            "{ $group: { _id: '$category', total: { $sum: '$amount' }, count: { $sum: 1 } } }",
-            "{ $sort: { total: -1 } }"
+            "{ $facet: { "
+                    + "totals: [ { $group: { _id: null, total: { $sum: '$amount' }, count: { $sum: 1 }, average: { $avg: '$amount' } } } ], "
+                    + "categories: [ { $group: { _id: '$category', total: { $sum: '$amount' }, count: { $sum: 1 } } }, { $sort: { total: -1 } } ] "
+                    + "} }"
     })
-    List<CategoryStats> getCategoryStatsByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+    MonthlyStats getMonthlyStatsByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
 
-    @Aggregation(pipeline = {
-            "{ $match: { userId: ?0 } }",
-            "{ $group: { _id: '$category' } }"
-    })
-    List<String> findDistinctCategoriesByUserId(String userId);
+    record MonthlyStats(List<Totals> totals, List<CategoryTotal> categories) {
+    }
+
+    record Totals(BigDecimal total, Integer count, BigDecimal average) {
+    }
 
-    interface CategoryStats {
-        String get_id();
-        Double getTotal();
-        Integer getCount();
+    record CategoryTotal(String id, BigDecimal total, Integer count) {
     }
 }
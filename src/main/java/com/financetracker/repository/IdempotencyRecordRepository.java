@@ -0,0 +1,13 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+
+    long deleteByIdAndStatusAndCreatedAtBefore(String id, IdempotencyRecord.Status status, LocalDateTime createdBefore);
+}
@@ -0,0 +1,13 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.ImportJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends MongoRepository<ImportJob, String> {
+
+    Optional<ImportJob> findByIdAndUserId(String id, String userId);
+}
@@ -0,0 +1,18 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.MonthlyRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends MongoRepository<MonthlyRollup, String> {
+
+    @Query(value = "{ userId: ?0 }", fields = "{ total: 1, count: 1 }")
+    List<MonthlyRollup> findTotalsByUserId(String userId);
+
+    @Query("{ userId: ?0, month: { $gte: ?1, $lte: ?2 } }")
+    List<MonthlyRollup> findByUserIdAndMonthRange(String userId, String fromMonth, String toMonth);
+}
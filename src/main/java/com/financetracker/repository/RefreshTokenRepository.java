@@ -0,0 +1,23 @@
+package com.financetracker.repository;
+
+import com.financetracker.entity.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Query("{'tokenHash': ?0, 'revoked': false}")
+    @Update("{'$set': {'revoked': true, 'replacedBy': ?1}}")
+    long revokeActiveByTokenHash(String tokenHash, String replacedBy);
+
+    @Query("{'userId': ?0, 'revoked': false}")
+    @Update("{'$set': {'revoked': true}}")
+    long revokeAllActiveByUserId(String userId);
+}
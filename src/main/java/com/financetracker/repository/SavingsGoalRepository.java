@@ -1,6 +1,8 @@
 package com.financetracker.repository;
 
 import com.financetracker.entity.SavingsGoal;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +14,8 @@ public interface SavingsGoalRepository extends MongoRepository<SavingsGoal, Stri
 
     List<SavingsGoal> findByUserId(String userId);
 
+    List<SavingsGoal> findByUserId(String userId, Sort sort, Limit limit);
+
     Optional<SavingsGoal> findByIdAndUserId(String id, String userId);
 
     List<SavingsGoal> findByUserIdAndCompleted(String userId, boolean completed);
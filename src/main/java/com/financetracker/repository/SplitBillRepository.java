@@ -1,6 +1,8 @@
 package com.financetracker.repository;
 
 import com.financetracker.entity.SplitBill;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +14,8 @@ public interface SplitBillRepository extends MongoRepository<SplitBill, String>
 
     List<SplitBill> findByUserId(String userId);
 
+    List<SplitBill> findByUserId(String userId, Sort sort, Limit limit);
+
     Optional<SplitBill> findByIdAndUserId(String id, String userId);
 
     List<SplitBill> findByUserIdAndSettled(String userId, boolean settled);
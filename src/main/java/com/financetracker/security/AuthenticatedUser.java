@@ -0,0 +1,106 @@
+package com.financetracker.security;
+
+import com.financetracker.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Getter
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final String id;
+    private final String email;
+    private final List<String> roles;
+    private final boolean active;
+    private final List<GrantedAuthority> authorities;
+    private final String tokenId;
+    private final Date tokenExpiresAt;
+    private String password;
+
+    private AuthenticatedUser(String id, String email, String password, List<String> roles, boolean active,
+                              String tokenId, Date tokenExpiresAt) {
+        this.id = id;
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+        this.email = email;
+        this.password = password;
+        this.roles = roles != null ? List.copyOf(roles) : List.of();
+        this.active = active;
+        this.authorities = this.roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+    }
+
+    private AuthenticatedUser(AuthenticatedUser source) {
+        this.id = source.id;
+        this.email = source.email;
+        this.password = source.password;
+        this.roles = source.roles;
+        this.active = source.active;
+        this.authorities = source.authorities;
+        this.tokenId = source.tokenId;
+        this.tokenExpiresAt = source.tokenExpiresAt;
+    }
+
+    public static AuthenticatedUser fromUser(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(), user.getRoles(), user.isActive(),
+                null, null);
+    }
+
+    public static AuthenticatedUser fromClaims(String id, String email, List<String> roles,
+                                               String tokenId, Date tokenExpiresAt) {
+        return new AuthenticatedUser(id, email, null, roles, true, tokenId, tokenExpiresAt);
+    }
+
+    /**
+     * The same user as the principal of one verified access token, so logout can revoke it.
+     */
+    public AuthenticatedUser withToken(String tokenId, Date tokenExpiresAt) {
+        return new AuthenticatedUser(id, email, null, roles, active, tokenId, tokenExpiresAt);
+    }
+
+    public AuthenticatedUser copy() {
+        return new AuthenticatedUser(this);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
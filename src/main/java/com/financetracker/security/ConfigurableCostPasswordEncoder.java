@@ -0,0 +1,29 @@
+package com.financetracker.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder that reports any hash with a different cost than the configured one as
+ * needing an upgrade, so lowering the cost is rolled out on login just like raising it.
+ */
+public class ConfigurableCostPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public ConfigurableCostPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
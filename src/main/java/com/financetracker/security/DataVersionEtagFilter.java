@@ -0,0 +1,125 @@
+package com.financetracker.security;
+
+import com.financetracker.entity.UserDataVersion.Dataset;
+import com.financetracker.service.DataVersionService;
+import com.financetracker.util.HashUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers conditional GETs from the per-user data versions. The weak ETag covers the versions
+ * of every dataset the route reads plus the current date (month-relative views change at
+ * midnight without a write), so a matching If-None-Match gets a 304 before the handler runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionEtagFilter extends OncePerRequestFilter {
+
+    // First match wins; routes mapped to no datasets (unversioned or streamed) are never answered with 304
+    private static final Map<String, Set<Dataset>> ROUTES = new LinkedHashMap<>();
+
+    static {
+        ROUTES.put("/api/expenses/import/**", EnumSet.noneOf(Dataset.class));
+        ROUTES.put("/api/expenses/**", EnumSet.of(Dataset.EXPENSES));
+        ROUTES.put("/api/budget/**", EnumSet.of(Dataset.BUDGETS, Dataset.EXPENSES));
+        ROUTES.put("/api/savings/**", EnumSet.of(Dataset.SAVINGS_GOALS));
+        ROUTES.put("/api/split-bills/**", EnumSet.of(Dataset.SPLIT_BILLS));
+        ROUTES.put("/api/dashboard/stream", EnumSet.noneOf(Dataset.class));
+        ROUTES.put("/api/dashboard/**", EnumSet.allOf(Dataset.class));
+    }
+
+    private final DataVersionService dataVersionService;
+    private final SecurityUtils securityUtils;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Value("${etag.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Set<Dataset> datasets = datasetsFor(request.getRequestURI());
+        AuthenticatedUser principal = securityUtils.findCurrentPrincipal().orElse(null);
+        if (datasets.isEmpty() || principal == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String etag;
+        try {
+            etag = etag(principal.getId(), datasets);
+        } catch (DataAccessException ex) {
+            // Without versions the request is simply served unconditionally
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // Lets clients keep the body but makes them revalidate before every reuse
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Set<Dataset> datasetsFor(String path) {
+        for (Map.Entry<String, Set<Dataset>> route : ROUTES.entrySet()) {
+            if (pathMatcher.match(route.getKey(), path)) {
+                return route.getValue();
+            }
+        }
+        return Set.of();
+    }
+
+    private String etag(String userId, Set<Dataset> datasets) {
+        Map<Dataset, Long> versions = dataVersionService.getVersions(userId);
+        StringBuilder source = new StringBuilder(userId).append('|').append(LocalDate.now());
+        for (Dataset dataset : datasets) {
+            source.append('|').append(versions.getOrDefault(dataset, 0L));
+        }
+        return "W/\"" + HashUtils.sha256Hex(source.toString()).substring(0, 32) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison: W/"x" and "x" match each other
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
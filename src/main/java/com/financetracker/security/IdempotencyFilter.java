@@ -0,0 +1,177 @@
+package com.financetracker.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.dto.ApiResponse;
+import com.financetracker.util.HashUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honours the Idempotency-Key header on POST and PUT: the first request with a key is executed
+ * and its response stored, retries with the same key get that response back, and duplicates
+ * arriving while the first is still running wait for it instead of executing again.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Value("${idempotency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${idempotency.paths:/api/expenses/**,/api/savings/**,/api/split-bills/**}")
+    private List<String> paths;
+
+    @Value("${idempotency.in-flight-wait-ms:10000}")
+    private long inFlightWaitMs;
+
+    public IdempotencyFilter(IdempotencyStore store, SecurityUtils securityUtils, ObjectMapper objectMapper) {
+        this.store = store;
+        this.securityUtils = securityUtils;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        boolean write = HttpMethod.POST.matches(request.getMethod()) || HttpMethod.PUT.matches(request.getMethod());
+        return !write || paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        // Unauthenticated requests are rejected further down the chain; there is nobody to scope the key to
+        AuthenticatedUser principal = securityUtils.findCurrentPrincipal().orElse(null);
+        if (principal == null || principal.getId() == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Multipart uploads are not hashed: they can be large and are not replayed with a different body
+        HttpServletRequest forwardedRequest = request;
+        byte[] body = new byte[0];
+        if (!isMultipart(request)) {
+            body = request.getInputStream().readAllBytes();
+            forwardedRequest = new CachedBodyHttpServletRequest(request, body);
+        }
+        String fingerprint = fingerprint(request, body);
+        String recordId = HashUtils.sha256Hex(principal.getId() + ":" + key);
+
+        IdempotencyStore.Claim claim = store.claim(recordId, principal.getId(), fingerprint);
+        if (claim == null) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY_HEADER
+                    + " is still being processed, please retry shortly");
+            return;
+        }
+        if (!claim.owner()) {
+            replay(claim.response(), fingerprint, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.StoredResponse stored = null;
+        try {
+            filterChain.doFilter(forwardedRequest, cachingResponse);
+            stored = new IdempotencyStore.StoredResponse(fingerprint, cachingResponse.getStatus(),
+                    cachingResponse.getContentType(), cachingResponse.getContentAsByteArray());
+        } finally {
+            // Server errors are not remembered, so the client can retry them with the same key
+            if (stored != null && stored.status() < 500) {
+                store.complete(recordId, principal.getId(), claim.response(), stored);
+            } else {
+                store.abandon(recordId, claim.response(), stored);
+            }
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private void replay(CompletableFuture<IdempotencyStore.StoredResponse> pending, String fingerprint,
+                        HttpServletResponse response) throws IOException {
+        IdempotencyStore.StoredResponse stored;
+        try {
+            stored = pending.get(inFlightWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stored = null;
+        } catch (ExecutionException | TimeoutException ex) {
+            stored = null;
+        }
+
+        if (stored == null) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY_HEADER
+                    + " is still being processed, please retry shortly");
+            return;
+        }
+        if (!stored.fingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            return;
+        }
+
+        log.debug("Replaying stored response for idempotent request");
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        String query = request.getQueryString() != null ? request.getQueryString() : "";
+        return HashUtils.sha256Hex(request.getMethod() + " " + request.getRequestURI() + "?" + query
+                + "\n" + HashUtils.sha256Hex(body));
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+}
@@ -0,0 +1,159 @@
+package com.financetracker.security;
+
+import com.financetracker.entity.IdempotencyRecord;
+import com.financetracker.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the response to each idempotent request. Completed responses are served from a
+ * local cache backed by a Mongo TTL collection; a key being executed on this node is tracked
+ * as a future so concurrent duplicates wait for it instead of running again.
+ */
+@Slf4j
+@Component
+class IdempotencyStore {
+
+    record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * Outcome of claiming a key: either this request owns it and must execute, or there is
+     * an earlier response (or one being produced) to wait for.
+     */
+    record Claim(boolean owner, CompletableFuture<StoredResponse> response) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final Cache<String, StoredResponse> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration staleAfter;
+
+    IdempotencyStore(IdempotencyRecordRepository repository,
+                     MeterRegistry meterRegistry,
+                     @Value("${idempotency.local-cache.max-size:10000}") long maxSize,
+                     @Value("${idempotency.local-cache.ttl-seconds:600}") long ttlSeconds,
+                     @Value("${idempotency.stale-after-seconds:60}") long staleAfterSeconds) {
+        this.repository = repository;
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotencyResponses");
+    }
+
+    /**
+     * Returns null when the key is being executed on another node, in which case the caller
+     * can only report a conflict.
+     */
+    Claim claim(String recordId, String userId, String fingerprint) {
+        StoredResponse cached = completed.getIfPresent(recordId);
+        if (cached != null) {
+            return new Claim(false, CompletableFuture.completedFuture(cached));
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(recordId, mine);
+        if (running != null) {
+            return new Claim(false, running);
+        }
+
+        try {
+            if (tryInsert(recordId, userId, fingerprint)) {
+                return new Claim(true, mine);
+            }
+            Optional<IdempotencyRecord> existing = repository.findById(recordId);
+            if (existing.isPresent() && existing.get().getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                StoredResponse response = toResponse(existing.get());
+                completed.put(recordId, response);
+                release(recordId, mine, response);
+                return new Claim(false, mine);
+            }
+            // A claim nobody finished within the lease belongs to a node that went away
+            if (repository.deleteByIdAndStatusAndCreatedAtBefore(recordId, IdempotencyRecord.Status.IN_PROGRESS,
+                    LocalDateTime.now().minus(staleAfter)) > 0 && tryInsert(recordId, userId, fingerprint)) {
+                return new Claim(true, mine);
+            }
+            release(recordId, mine, null);
+            return null;
+        } catch (RuntimeException ex) {
+            inFlight.remove(recordId, mine);
+            mine.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    void complete(String recordId, String userId, CompletableFuture<StoredResponse> claim, StoredResponse response) {
+        try {
+            repository.save(IdempotencyRecord.builder()
+                    .id(recordId)
+                    .userId(userId)
+                    .fingerprint(response.fingerprint())
+                    .status(IdempotencyRecord.Status.COMPLETED)
+                    .responseStatus(response.status())
+                    .responseContentType(response.contentType())
+                    .responseBody(response.body())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            completed.put(recordId, response);
+        } catch (RuntimeException ex) {
+            log.error("Could not store idempotent response {}: {}", recordId, ex.getMessage());
+        } finally {
+            release(recordId, claim, response);
+        }
+    }
+
+    /**
+     * Drops the claim so the client can retry with the same key; requests already waiting on
+     * it receive this response.
+     */
+    void abandon(String recordId, CompletableFuture<StoredResponse> claim, StoredResponse response) {
+        try {
+            repository.deleteById(recordId);
+        } catch (RuntimeException ex) {
+            log.error("Could not release idempotency key {}: {}", recordId, ex.getMessage());
+        } finally {
+            release(recordId, claim, response);
+        }
+    }
+
+    private boolean tryInsert(String recordId, String userId, String fingerprint) {
+        try {
+            repository.insert(IdempotencyRecord.builder()
+                    .id(recordId)
+                    .userId(userId)
+                    .fingerprint(fingerprint)
+                    .status(IdempotencyRecord.Status.IN_PROGRESS)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    private void release(String recordId, CompletableFuture<StoredResponse> claim, StoredResponse response) {
+        inFlight.remove(recordId, claim);
+        claim.complete(response);
+    }
+
+    private static StoredResponse toResponse(IdempotencyRecord record) {
+        return new StoredResponse(record.getFingerprint(), record.getResponseStatus(),
+                record.getResponseContentType(), record.getResponseBody());
+    }
+}
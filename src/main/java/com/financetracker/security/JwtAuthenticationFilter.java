@@ -1,11 +1,13 @@
 package com.financetracker.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,6 +27,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.revalidate-user:false}")
+    private boolean revalidateUser;
 
     @Override
     protected void doFilterInternal(
@@ -35,12 +41,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.extractUsername(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.verify(jwt) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims != null && !tokenRevocationService.isRevoked(claims.getId())) {
+                UserDetails userDetails = resolvePrincipal(claims);
 
-                if (jwtTokenProvider.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -58,6 +64,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(Claims claims) {
+        AuthenticatedUser principal = jwtTokenProvider.extractPrincipal(claims);
+        if (principal != null && !revalidateUser) {
+            return principal;
+        }
+
+        // Legacy tokens without a user id, or revalidation switched on: check the user store
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!userDetails.isEnabled() || !jwtTokenProvider.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        if (userDetails instanceof AuthenticatedUser user) {
+            return user.withToken(claims.getId(), claims.getExpiration());
+        }
+        return userDetails;
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,166 @@
+package com.financetracker.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.config.RateLimitProperties;
+import com.financetracker.dto.ApiResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting for the public auth endpoints, keyed by client IP and by the
+ * email in the request body, so neither one address nor one account can be brute-forced.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+    private static final String UNIDENTIFIED_EMAIL = "<unidentified>";
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        // Idle buckets are full again anyway, so evicting them loses nothing and keeps memory bounded
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(Duration.ofSeconds(properties.getIdleEvictionSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled()
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || findRoute(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimitProperties.Route route = findRoute(request.getRequestURI());
+        long now = System.nanoTime();
+
+        if (route.getPerIp() != null
+                && isBlocked(route, "ip", resolveClientIp(request), route.getPerIp(), now, response)) {
+            return;
+        }
+
+        HttpServletRequest forwardedRequest = request;
+        if (route.getPerEmail() != null) {
+            // Read at most one byte past the limit, whatever Content-Length and Transfer-Encoding claim
+            byte[] body = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+            if (body.length > MAX_INSPECTED_BODY_BYTES) {
+                meterRegistry.counter("rate_limit.requests", "route", route.getPath(), "scope", "email", "outcome", "too_large")
+                        .increment();
+                writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large");
+                return;
+            }
+            forwardedRequest = new CachedBodyHttpServletRequest(request, body);
+
+            // Bodies without a readable email all share one bucket, so they can never skip the limit
+            String email = extractEmail(body);
+            if (isBlocked(route, "email", email != null ? email : UNIDENTIFIED_EMAIL, route.getPerEmail(), now, response)) {
+                return;
+            }
+        }
+
+        filterChain.doFilter(forwardedRequest, response);
+    }
+
+    private boolean isBlocked(RateLimitProperties.Route route, String scope, String key,
+                              RateLimitProperties.Limit limit, long now,
+                              HttpServletResponse response) throws IOException {
+        TokenBucket bucket = buckets.get(route.getPath() + "|" + scope + "|" + key,
+                k -> new TokenBucket(limit, now));
+        long waitNanos = bucket.tryConsume(now);
+
+        if (waitNanos == 0) {
+            meterRegistry.counter("rate_limit.requests", "route", route.getPath(), "scope", scope, "outcome", "allowed")
+                    .increment();
+            return false;
+        }
+
+        meterRegistry.counter("rate_limit.requests", "route", route.getPath(), "scope", scope, "outcome", "blocked")
+                .increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.warn("Rate limit exceeded on {} for {} {}, retry after {}s", route.getPath(), scope, key, retryAfterSeconds);
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS,
+                "Too many requests. Please retry in " + retryAfterSeconds + " seconds");
+        return true;
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    private RateLimitProperties.Route findRoute(String path) {
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (pathMatcher.match(route.getPath(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String resolveClientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedHeaders()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwardedFor)) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Parses the body as JSON whatever the declared content type, since Jackson binds
+     * application/json and every application/*+json type alike.
+     */
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            String email = json == null ? null : json.path("email").asText(null);
+            return StringUtils.hasText(email) ? email.trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+}
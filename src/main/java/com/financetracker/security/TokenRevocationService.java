@@ -0,0 +1,93 @@
+package com.financetracker.security;
+
+import com.financetracker.entity.RevokedToken;
+import com.financetracker.repository.RevokedTokenRepository;
+import com.financetracker.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the set of revoked access-token ids in memory. The request path consults a Bloom filter
+ * first and only touches the exact set on a possible hit, so it never reaches the database.
+ * Revocations are persisted to Mongo and periodically pulled in from other nodes.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<String, LocalDateTime> revokedTokens = new ConcurrentHashMap<>();
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+    private LocalDateTime lastSync;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null
+                && bloomFilter.mightContain(tokenId)
+                && revokedTokens.containsKey(tokenId);
+    }
+
+    public void revoke(String tokenId, String userId, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(RevokedToken.builder()
+                .id(tokenId)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .revokedAt(now)
+                .build());
+        remember(tokenId, expiresAt);
+        log.info("Revoked access token {} for user: {}", tokenId, userId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public synchronized void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            // The first sync loads every unexpired revocation; later ones overlap the window slightly
+            // so revocations written during the last sync are not missed
+            List<RevokedToken> recent = lastSync == null
+                    ? revokedTokenRepository.findByExpiresAtAfter(now)
+                    : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minusSeconds(5), now);
+            recent.forEach(token -> remember(token.getId(), token.getExpiresAt()));
+            lastSync = now;
+        } catch (Exception ex) {
+            log.error("Could not sync revoked tokens", ex);
+        }
+
+        boolean pruned = revokedTokens.entrySet().removeIf(entry -> entry.getValue().isBefore(now));
+        if (pruned || revokedTokens.size() > expectedRevocations) {
+            rebuildBloomFilter();
+        }
+    }
+
+    private void remember(String tokenId, LocalDateTime expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+        bloomFilter.put(tokenId);
+    }
+
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revokedTokens.size() * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        // Ids revoked while rebuilding are added to the new filter too, so none can slip through
+        bloomFilter = rebuilt;
+        revokedTokens.keySet().forEach(rebuilt::put);
+    }
+}
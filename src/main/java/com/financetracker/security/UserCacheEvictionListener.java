@@ -0,0 +1,23 @@
+package com.financetracker.security;
+
+import com.financetracker.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the cached user details whenever a user document is written, so profile updates,
+ * deactivation and role changes are picked up on the next lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener extends AbstractMongoEventListener<User> {
+
+    private final CustomUserDetailsService userDetailsService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        userDetailsService.evict(event.getSource());
+    }
+}
@@ -2,6 +2,7 @@ package com.financetracker.service;
 
 import com.financetracker.dto.auth.AuthResponse;
 import com.financetracker.dto.auth.LoginRequest;
+import com.financetracker.dto.auth.RefreshTokenRequest;
 import com.financetracker.dto.auth.RegisterRequest;
 
 public interface AuthService {
@@ -9,4 +10,8 @@ public interface AuthService {
     AuthResponse register(RegisterRequest request);
 
     AuthResponse login(LoginRequest request);
+
+    AuthResponse refresh(RefreshTokenRequest request);
+
+    void logout(RefreshTokenRequest request);
 }
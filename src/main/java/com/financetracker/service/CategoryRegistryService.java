@@ -0,0 +1,22 @@
+package com.financetracker.service;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CategoryRegistryService {
+
+    /**
+     * The user's categories, most used first, followed by any unused defaults.
+     */
+    List<String> getCategories(String userId);
+
+    /**
+     * Records one expense moving between categories; previous is null on create, current on delete.
+     */
+    void categoryChanged(String userId, String previous, String current);
+
+    /**
+     * Applies per-category count changes from a batch write.
+     */
+    void adjust(String userId, Map<String, Long> deltas);
+}
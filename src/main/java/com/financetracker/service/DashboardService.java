@@ -3,6 +3,8 @@ package com.financetracker.service;
 import com.financetracker.dto.CategoryBreakdownDto;
 import com.financetracker.dto.DashboardStatsDto;
 import com.financetracker.dto.MonthlyTrendDto;
+import com.financetracker.dto.SpendingTrendsDto;
+import com.financetracker.dto.TrendGranularity;
 
 import java.util.List;
 
@@ -13,4 +15,10 @@ public interface DashboardService {
     List<CategoryBreakdownDto> getSpendingBreakdown();
 
     List<MonthlyTrendDto> getSpendingTrends(Integer months);
+
+    /**
+     * Totals for the last {@code months} calendar months bucketed by the granularity,
+     * zero-filled, optionally split per category.
+     */
+    SpendingTrendsDto getSpendingTrends(Integer months, TrendGranularity granularity, boolean byCategory);
 }
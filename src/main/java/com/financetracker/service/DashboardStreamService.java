@@ -0,0 +1,12 @@
+package com.financetracker.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DashboardStreamService {
+
+    /**
+     * Opens a change stream for the current user; a "change" event names each dataset
+     * that was written, so the client can refetch just the affected views.
+     */
+    SseEmitter subscribe();
+}
@@ -0,0 +1,18 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.UserDataVersion;
+
+import java.util.Map;
+
+public interface DataVersionService {
+
+    /**
+     * Current version of each dataset for the user; datasets never written are absent.
+     */
+    Map<UserDataVersion.Dataset, Long> getVersions(String userId);
+
+    /**
+     * Records a write to the dataset and publishes a {@link UserDataChangedEvent} for it.
+     */
+    void bump(String userId, UserDataVersion.Dataset dataset);
+}
@@ -2,4 +2,6 @@ package com.financetracker.service;
 
 public interface EmailService {
     void sendEmail(String to, String subject, String body);
+
+    void queueEmail(String to, String subject, String body);
 }
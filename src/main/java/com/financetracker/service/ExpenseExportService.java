@@ -0,0 +1,15 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+public interface ExpenseExportService {
+
+    /**
+     * Resolves the current user eagerly and returns a body that streams their expenses
+     * from a database cursor, so memory stays flat regardless of the number of rows.
+     */
+    StreamingResponseBody exportExpenses(ExportFormat format, LocalDate from, LocalDate to, boolean gzip);
+}
@@ -0,0 +1,14 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.ImportJobDto;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ExpenseImportService {
+
+    /**
+     * Spools the upload and queues it for background import; poll the returned job for progress.
+     */
+    ImportJobDto startImport(MultipartFile file, String format);
+
+    ImportJobDto getImportJob(String jobId);
+}
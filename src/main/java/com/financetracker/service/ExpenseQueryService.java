@@ -0,0 +1,10 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.ExpenseDto;
+import com.financetracker.dto.ExpenseQueryRequest;
+import org.springframework.data.domain.Page;
+
+public interface ExpenseQueryService {
+
+    Page<ExpenseDto> query(ExpenseQueryRequest request);
+}
@@ -0,0 +1,11 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.ExpenseDto;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDate;
+
+public interface ExpenseSearchService {
+
+    Page<ExpenseDto> search(String query, LocalDate from, LocalDate to, String category, int page, int size);
+}
@@ -1,7 +1,11 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.BulkExpenseRequest;
+import com.financetracker.dto.BulkExpenseResponseDto;
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.ExpenseDto;
 import com.financetracker.dto.MonthlyExpenseStatsDto;
+import com.financetracker.util.CappedList;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -18,9 +22,20 @@ public interface ExpenseService {
 
     Page<ExpenseDto> getAllExpenses(Pageable pageable);
 
-    List<ExpenseDto> getExpensesByCategory(String category);
+    CursorPageDto<ExpenseDto> getExpensesPage(String cursor, int size, boolean includeTotal, boolean details);
 
-    List<ExpenseDto> getExpensesByDateRange(LocalDate startDate, LocalDate endDate);
+    List<ExpenseDto> getExpensesByIds(List<String> ids);
+
+    BulkExpenseResponseDto bulkWrite(BulkExpenseRequest request);
+
+    CappedList<ExpenseDto> getExpensesByCategory(String category);
+
+    CappedList<ExpenseDto> getExpensesByDateRange(LocalDate startDate, LocalDate endDate);
+
+    CursorPageDto<ExpenseDto> getExpensesByCategoryPage(String category, String cursor, int size, boolean details);
+
+    CursorPageDto<ExpenseDto> getExpensesByDateRangePage(LocalDate startDate, LocalDate endDate,
+                                                         String cursor, int size, boolean details);
 
     ExpenseDto updateExpense(String id, ExpenseDto expenseDto);
 
@@ -0,0 +1,27 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.Expense;
+import com.financetracker.entity.MonthlyRollup;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface MonthlyRollupService {
+
+    /**
+     * Moves one expense's amount between rollups; previous is null on create, current on delete.
+     */
+    void recordChange(String userId, Expense previous, Expense current);
+
+    void recordChanges(String userId, List<Expense> removed, List<Expense> added);
+
+    BigDecimal getTotal(String userId);
+
+    BigDecimal getMonthTotal(String userId, YearMonth month);
+
+    /**
+     * Per-category rollups for every month in the inclusive range.
+     */
+    List<MonthlyRollup> getRollups(String userId, YearMonth from, YearMonth to);
+}
@@ -1,8 +1,10 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.DepositRequest;
 import com.financetracker.dto.SavingsGoalDto;
 import com.financetracker.dto.SavingsProgressDto;
+import com.financetracker.util.CappedList;
 
 import java.util.List;
 
@@ -12,7 +14,9 @@ public interface SavingsGoalService {
 
     SavingsGoalDto getGoalById(String id);
 
-    List<SavingsGoalDto> getAllGoals();
+    CappedList<SavingsGoalDto> getAllGoals();
+
+    CursorPageDto<SavingsGoalDto> getGoalsPage(String cursor, int size, boolean details);
 
     SavingsGoalDto updateGoal(String id, SavingsGoalDto goalDto);
 
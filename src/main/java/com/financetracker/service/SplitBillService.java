@@ -1,8 +1,10 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.ParticipantDto;
 import com.financetracker.dto.SplitBillDto;
 import com.financetracker.dto.SplitBillSummaryDto;
+import com.financetracker.util.CappedList;
 
 import java.util.List;
 
@@ -12,7 +14,9 @@ public interface SplitBillService {
 
     SplitBillDto getSplitBillById(String id);
 
-    List<SplitBillDto> getAllSplitBills();
+    CappedList<SplitBillDto> getAllSplitBills();
+
+    CursorPageDto<SplitBillDto> getSplitBillsPage(String cursor, int size, boolean details);
 
     SplitBillDto updateSplitBill(String id, SplitBillDto splitBillDto);
 
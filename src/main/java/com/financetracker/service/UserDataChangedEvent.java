@@ -0,0 +1,10 @@
+package com.financetracker.service;
+
+import com.financetracker.entity.UserDataVersion;
+
+/**
+ * Published in-process after a write to one of the user's datasets. The version is the one the
+ * write produced, or null when it could not be recorded.
+ */
+public record UserDataChangedEvent(String userId, UserDataVersion.Dataset dataset, Long version) {
+}
@@ -2,22 +2,35 @@ package com.financetracker.service.impl;
 
 import com.financetracker.dto.auth.AuthResponse;
 import com.financetracker.dto.auth.LoginRequest;
+import com.financetracker.dto.auth.RefreshTokenRequest;
 import com.financetracker.dto.auth.RegisterRequest;
+import com.financetracker.entity.RefreshToken;
 import com.financetracker.entity.User;
 import com.financetracker.exception.BadRequestException;
 import com.financetracker.exception.DuplicateResourceException;
+import com.financetracker.exception.UnauthorizedException;
+import com.financetracker.repository.RefreshTokenRepository;
 import com.financetracker.repository.UserRepository;
+import com.financetracker.security.AuthenticatedUser;
 import com.financetracker.security.JwtTokenProvider;
+import com.financetracker.security.PasswordHashingExecutor;
+import com.financetracker.security.SecurityUtils;
+import com.financetracker.security.TokenRevocationService;
 import com.financetracker.service.AuthService;
+import com.financetracker.util.HashUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
 import java.util.List;
 
 
@@ -30,7 +43,13 @@ public class AuthServiceImpl implements AuthService {
         private final PasswordEncoder passwordEncoder;
         private final JwtTokenProvider jwtTokenProvider;
         private final AuthenticationManager authenticationManager;
+        private final PasswordHashingExecutor passwordHashingExecutor;
         private final com.financetracker.service.EmailService emailService;
+        private final RefreshTokenRepository refreshTokenRepository;
+        private final TokenRevocationService tokenRevocationService;
+        private final SecurityUtils securityUtils;
+
+        private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
         @Override
         public AuthResponse register(RegisterRequest request) {
@@ -42,7 +61,7 @@ public class AuthServiceImpl implements AuthService {
 
                 User user = User.builder()
                                 .email(request.getEmail().toLowerCase())
-                                .password(passwordEncoder.encode(request.getPassword()))
+                                .password(passwordHashingExecutor.execute(() -> passwordEncoder.encode(request.getPassword())))
                                 .firstName(request.getFirstName())
                                 .lastName(request.getLastName())
                                 .roles(List.of("USER"))
@@ -52,42 +71,99 @@ public class AuthServiceImpl implements AuthService {
                 User savedUser = userRepository.save(user);
                 log.info("User registered successfully with ID: {}", savedUser.getId());
 
-                // Send welcome email
+                // Queue welcome email; delivery happens off the request thread
                 String subject = "Welcome to Finance Tracker!";
                 String body = String.format("Hello %s,\n\nThank you for registering at Finance Tracker. We're excited to have you on board!\n\nBest regards,\nFinance Tracker Team", savedUser.getFirstName());
-                emailService.sendEmail(savedUser.getEmail(), subject, body);
-
-                // Authenticate and generate token
-                Authentication authentication = authenticationManager.authenticate(
-                                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-                );
+                emailService.queueEmail(savedUser.getEmail(), subject, body);
 
-                String token = jwtTokenProvider.generateToken(authentication);
-
-                return buildAuthResponse(token, savedUser);
+                // The password was just hashed, so issue the token directly instead of re-authenticating
+                return issueTokens(AuthenticatedUser.fromUser(savedUser), savedUser);
     }
 
     @Override
     public AuthResponse login(LoginRequest request) {
         log.info("User login attempt for email: {}", request.getEmail());
 
-        Authentication authentication = authenticationManager.authenticate(
+        Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+        ));
 
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BadRequestException("Invalid email or password"));
 
-        String token = jwtTokenProvider.generateToken(authentication);
         log.info("User logged in successfully: {}", request.getEmail());
 
-        return buildAuthResponse(token, user);
+        return issueTokens((AuthenticatedUser) authentication.getPrincipal(), user);
+    }
+
+    @Override
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        String tokenHash = HashUtils.sha256Hex(request.getRefreshToken());
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+
+        // Rotation: the presented token is consumed atomically, so a replayed or stolen copy
+        // finds it already revoked and takes the whole session family down with it
+        String newRefreshToken = generateRefreshToken();
+        String newTokenHash = HashUtils.sha256Hex(newRefreshToken);
+        if (refreshToken.isRevoked() || refreshTokenRepository.revokeActiveByTokenHash(tokenHash, newTokenHash) == 0) {
+            long revoked = refreshTokenRepository.revokeAllActiveByUserId(refreshToken.getUserId());
+            log.warn("Refresh token reuse detected for user: {}, revoked {} active tokens",
+                    refreshToken.getUserId(), revoked);
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+
+        User user = userRepository.findById(refreshToken.getUserId())
+                .filter(User::isActive)
+                .orElseThrow(() -> new UnauthorizedException("User is no longer active"));
+
+        log.info("Refreshed tokens for user: {}", user.getId());
+        return buildAuthResponse(AuthenticatedUser.fromUser(user), user, storeRefreshToken(user.getId(), newRefreshToken));
+    }
+
+    @Override
+    public void logout(RefreshTokenRequest request) {
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenRepository.revokeActiveByTokenHash(HashUtils.sha256Hex(request.getRefreshToken()), null);
+        }
+
+        securityUtils.findCurrentPrincipal()
+                .filter(principal -> principal.getTokenId() != null)
+                .ifPresent(principal -> tokenRevocationService.revoke(
+                        principal.getTokenId(),
+                        principal.getId(),
+                        LocalDateTime.ofInstant(principal.getTokenExpiresAt().toInstant(), ZoneId.systemDefault())));
+    }
+
+    private AuthResponse issueTokens(AuthenticatedUser principal, User user) {
+        return buildAuthResponse(principal, user, storeRefreshToken(user.getId(), generateRefreshToken()));
+    }
+
+    private String storeRefreshToken(String userId, String refreshToken) {
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(HashUtils.sha256Hex(refreshToken))
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(jwtTokenProvider.getRefreshTokenExpirationMillis())))
+                .build());
+        return refreshToken;
+    }
+
+    private String generateRefreshToken() {
+        byte[] bytes = new byte[32];
+        SECURE_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
-    private AuthResponse buildAuthResponse(String token, User user) {
+    private AuthResponse buildAuthResponse(AuthenticatedUser principal, User user, String refreshToken) {
         return AuthResponse.builder()
-                .token(token)
+                .token(jwtTokenProvider.generateToken(principal))
                 .tokenType("Bearer")
+                .expiresIn(jwtTokenProvider.getAccessTokenExpirationMillis() / 1000)
+                .refreshToken(refreshToken)
                 .user(AuthResponse.UserDto.builder()
                         .id(user.getId())
                         .email(user.getEmail())
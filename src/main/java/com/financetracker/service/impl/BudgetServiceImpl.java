@@ -2,22 +2,21 @@ package com.financetracker.service.impl;
 
 import com.financetracker.dto.BudgetDto;
 import com.financetracker.entity.Budget;
-import com.financetracker.entity.Expense;
+import com.financetracker.entity.UserDataVersion;
 import com.financetracker.exception.ResourceNotFoundException;
 import com.financetracker.mapper.BudgetMapper;
 import com.financetracker.repository.BudgetRepository;
-import com.financetracker.repository.ExpenseRepository;
 import com.financetracker.security.SecurityUtils;
 import com.financetracker.service.BudgetService;
+import com.financetracker.service.DataVersionService;
+import com.financetracker.service.MonthlyRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.List;
 
 @Slf4j
 @Service
@@ -25,9 +24,10 @@ import java.util.List;
 public class BudgetServiceImpl implements BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final ExpenseRepository expenseRepository;
     private final BudgetMapper budgetMapper;
     private final SecurityUtils securityUtils;
+    private final DataVersionService dataVersionService;
+    private final MonthlyRollupService monthlyRollupService;
 
     @Override
     public BudgetDto getCurrentBudget() {
@@ -63,6 +63,7 @@ public class BudgetServiceImpl implements BudgetService {
 
         budget.setMonthlyLimit(budgetDto.getMonthlyLimit());
         Budget savedBudget = budgetRepository.save(budget);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.BUDGETS);
 
         log.info("Budget saved with ID: {}", savedBudget.getId());
         return enrichBudgetWithSpending(savedBudget);
@@ -71,14 +72,7 @@ public class BudgetServiceImpl implements BudgetService {
     private BudgetDto enrichBudgetWithSpending(Budget budget) {
         String userId = budget.getUserId();
 
-        LocalDate startDate = LocalDate.of(budget.getYear(), budget.getMonth(), 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-
-        List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
-
-        BigDecimal spent = expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal spent = monthlyRollupService.getMonthTotal(userId, YearMonth.of(budget.getYear(), budget.getMonth()));
 
         BigDecimal remaining = budget.getMonthlyLimit().subtract(spent);
         BigDecimal percentUsed = budget.getMonthlyLimit().compareTo(BigDecimal.ZERO) > 0
@@ -0,0 +1,131 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.CategoryUsage;
+import com.financetracker.repository.CategoryUsageRepository;
+import com.financetracker.service.CategoryRegistryService;
+import com.financetracker.util.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps one usage counter per (user, category) so the category list is a single indexed read
+ * instead of a $group over every expense, and caches the ordered list per user. Counter writes
+ * happen after the expense write has succeeded and never fail it; the cache entry is dropped
+ * on every change and otherwise expires, which bounds staleness from writes on other instances.
+ */
+@Slf4j
+@Service
+public class CategoryRegistryServiceImpl implements CategoryRegistryService {
+
+    private static final Comparator<CategoryUsage> MOST_USED_FIRST = Comparator
+            .comparingLong(CategoryUsage::getCount).reversed()
+            .thenComparing(CategoryUsage::getCategory);
+
+    private final CategoryUsageRepository categoryUsageRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, List<String>> categoriesByUser;
+
+    public CategoryRegistryServiceImpl(CategoryUsageRepository categoryUsageRepository,
+                                       MongoTemplate mongoTemplate,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${categories.cache.max-size:10000}") long maxSize,
+                                       @Value("${categories.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.categoryUsageRepository = categoryUsageRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.categoriesByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, categoriesByUser, "userCategories");
+    }
+
+    @Override
+    public List<String> getCategories(String userId) {
+        return categoriesByUser.get(userId, this::loadCategories);
+    }
+
+    @Override
+    public void categoryChanged(String userId, String previous, String current) {
+        if (previous != null && previous.equals(current)) {
+            return;
+        }
+        Map<String, Long> deltas = new HashMap<>();
+        if (previous != null) {
+            deltas.merge(previous, -1L, Long::sum);
+        }
+        if (current != null) {
+            deltas.merge(current, 1L, Long::sum);
+        }
+        adjust(userId, deltas);
+    }
+
+    @Override
+    public void adjust(String userId, Map<String, Long> deltas) {
+        Set<String> decremented = new LinkedHashSet<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CategoryUsage.class);
+        int queued = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            if (delta.getKey() == null || delta.getValue() == 0) {
+                continue;
+            }
+            bulk.upsert(usageQuery(userId, delta.getKey()),
+                    new Update().inc("count", delta.getValue()).set("updatedAt", now));
+            queued++;
+            if (delta.getValue() < 0) {
+                decremented.add(delta.getKey());
+            }
+        }
+        if (queued == 0) {
+            return;
+        }
+
+        try {
+            bulk.execute();
+            if (!decremented.isEmpty()) {
+                mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId)
+                        .and("category").in(decremented)
+                        .and("count").lte(0)), CategoryUsage.class);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not update category usage for user {}: {}", userId, ex.getMessage());
+        } finally {
+            categoriesByUser.invalidate(userId);
+        }
+    }
+
+    private List<String> loadCategories(String userId) {
+        Set<String> categories = new LinkedHashSet<>();
+        categoryUsageRepository.findByUserIdAndCountGreaterThan(userId, 0).stream()
+                .sorted(MOST_USED_FIRST)
+                .forEach(usage -> categories.add(usage.getCategory()));
+        categories.addAll(Arrays.asList(Constants.DEFAULT_EXPENSE_CATEGORIES));
+        return List.copyOf(categories);
+    }
+
+    private static Query usageQuery(String userId, String category) {
+        return Query.query(Criteria.where("userId").is(userId).and("category").is(category));
+    }
+}
@@ -0,0 +1,97 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.UserDataVersion.Dataset;
+import com.financetracker.service.DataVersionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caches dashboard results per user, view and parameters. Every key carries the data versions
+ * of the datasets the view reads, so the version bump on an expense, budget, goal or split bill
+ * write makes the user's affected entries unreachable immediately on this instance, and within
+ * the version cache TTL on the others. Orphaned entries age out by size or TTL. Keys also carry
+ * the date, since month-relative views change at midnight without a write.
+ */
+@Slf4j
+@Component
+public class DashboardResultCache {
+
+    private final DataVersionService dataVersionService;
+    private final Cache<Key, Object> results;
+    private final boolean enabled;
+
+    public DashboardResultCache(DataVersionService dataVersionService,
+                                MeterRegistry meterRegistry,
+                                @Value("${dashboard.cache.enabled:true}") boolean enabled,
+                                @Value("${dashboard.cache.max-size:30000}") long maxSize,
+                                @Value("${dashboard.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.dataVersionService = dataVersionService;
+        this.enabled = enabled;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "dashboardResults");
+    }
+
+    /**
+     * Returns the cached result or loads it; loaded results are stored only if {@code cacheable}
+     * accepts them, so degraded answers are recomputed on the next call.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String userId, String view, Object params, Set<Dataset> datasets,
+                     Supplier<T> loader, Predicate<T> cacheable) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key;
+        try {
+            key = new Key(userId, view, params, LocalDate.now(), versionsOf(userId, datasets));
+        } catch (DataAccessException ex) {
+            // Without versions a cached entry cannot be trusted to be current
+            log.debug("Data versions unavailable for user {}, bypassing dashboard cache: {}", userId, ex.getMessage());
+            return loader.get();
+        }
+
+        Object cached = results.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        T loaded = loader.get();
+        if (loaded != null && cacheable.test(loaded)) {
+            results.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private List<Long> versionsOf(String userId, Set<Dataset> datasets) {
+        Map<Dataset, Long> versions = dataVersionService.getVersions(userId);
+        List<Long> relevant = new ArrayList<>(datasets.size());
+        for (Dataset dataset : Dataset.values()) {
+            if (datasets.contains(dataset)) {
+                relevant.add(versions.getOrDefault(dataset, 0L));
+            }
+        }
+        return relevant;
+    }
+
+    private record Key(String userId, String view, Object params, LocalDate day, List<Long> versions) {
+    }
+}
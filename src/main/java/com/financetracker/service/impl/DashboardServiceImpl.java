@@ -3,138 +3,201 @@ package com.financetracker.service.impl;
 import com.financetracker.dto.CategoryBreakdownDto;
 import com.financetracker.dto.DashboardStatsDto;
 import com.financetracker.dto.MonthlyTrendDto;
+import com.financetracker.dto.SpendingTrendsDto;
+import com.financetracker.dto.TrendBucketDto;
+import com.financetracker.dto.TrendGranularity;
 import com.financetracker.entity.Budget;
-import com.financetracker.entity.Expense;
+import com.financetracker.entity.MonthlyRollup;
 import com.financetracker.entity.SavingsGoal;
 import com.financetracker.entity.SplitBill;
+import com.financetracker.entity.UserDataVersion.Dataset;
+import com.financetracker.exception.BadRequestException;
 import com.financetracker.repository.BudgetRepository;
-import com.financetracker.repository.ExpenseRepository;
 import com.financetracker.repository.SavingsGoalRepository;
 import com.financetracker.repository.SplitBillRepository;
 import com.financetracker.security.SecurityUtils;
 import com.financetracker.service.DashboardService;
+import com.financetracker.service.MonthlyRollupService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.ZoneId;
 import java.time.format.TextStyle;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
-    private final ExpenseRepository expenseRepository;
     private final SavingsGoalRepository savingsGoalRepository;
     private final SplitBillRepository splitBillRepository;
     private final BudgetRepository budgetRepository;
     private final SecurityUtils securityUtils;
+    private final MonthlyRollupService monthlyRollupService;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final DashboardResultCache dashboardResultCache;
+
+    // A virtual thread per subquery; each task runs with the submitting request's security context
+    private final ExecutorService statsExecutor =
+            new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+
+    @Value("${dashboard.stats.subquery-timeout-ms:2000}")
+    private long subqueryTimeoutMs;
+
+    @Value("${dashboard.trends.max-months:24}")
+    private int maxTrendMonths;
 
     @Override
     public DashboardStatsDto getStats() {
         String userId = securityUtils.getCurrentUserId();
         log.info("Fetching dashboard stats for user: {}", userId);
+        return dashboardResultCache.get(userId, "stats", null, EnumSet.allOf(Dataset.class),
+                () -> loadStats(userId), stats -> stats.getUnavailable().isEmpty());
+    }
 
+    private DashboardStatsDto loadStats(String userId) {
         YearMonth currentMonth = YearMonth.now();
-        LocalDate startOfMonth = currentMonth.atDay(1);
-        LocalDate endOfMonth = currentMonth.atEndOfMonth();
 
-        // Calculate total expenses
-        List<Expense> allExpenses = expenseRepository.findByUserId(userId);
-        BigDecimal totalExpenses = allExpenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Independent reads run side by side, so latency is the slowest one rather than the sum
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(subqueryTimeoutMs);
+        Future<BigDecimal> totalFuture = statsExecutor.submit(() -> monthlyRollupService.getTotal(userId));
+        Future<BigDecimal> monthTotalFuture = statsExecutor.submit(
+                () -> monthlyRollupService.getMonthTotal(userId, currentMonth));
+        Future<List<SavingsGoal>> goalsFuture = statsExecutor.submit(() -> savingsGoalRepository.findByUserId(userId));
+        Future<Optional<Budget>> budgetFuture = statsExecutor.submit(() -> budgetRepository.findByUserIdAndMonthAndYear(
+                userId, currentMonth.getMonthValue(), currentMonth.getYear()));
+        Future<List<SplitBill>> pendingFuture = statsExecutor.submit(
+                () -> splitBillRepository.findByUserIdAndSettled(userId, false));
 
-        // Current month expenses
-        List<Expense> currentMonthExpenses = expenseRepository
-                .findByUserIdAndDateBetween(userId, startOfMonth, endOfMonth);
-        BigDecimal currentMonthTotal = currentMonthExpenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<String> unavailable = new ArrayList<>();
+        BigDecimal totalExpenses = await(totalFuture, "totalExpenses", deadline, unavailable);
+        BigDecimal currentMonthTotal = await(monthTotalFuture, "currentMonthExpenses", deadline, unavailable);
+        List<SavingsGoal> goals = await(goalsFuture, "savings", deadline, unavailable);
+        Optional<Budget> budgetOpt = await(budgetFuture, "budget", deadline, unavailable);
+        List<SplitBill> pendingSplitBills = await(pendingFuture, "pendingSplitBills", deadline, unavailable);
+
+        DashboardStatsDto.DashboardStatsDtoBuilder stats = DashboardStatsDto.builder()
+                .totalExpenses(totalExpenses)
+                .currentMonthExpenses(currentMonthTotal)
+                .pendingSplitBills(pendingSplitBills != null ? pendingSplitBills.size() : null)
+                .unavailable(unavailable);
 
         // Savings
-        List<SavingsGoal> goals = savingsGoalRepository.findByUserId(userId);
-        BigDecimal totalSavings = goals.stream()
-                .map(SavingsGoal::getCurrentAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        int activeGoals = (int) goals.stream().filter(g -> !g.isCompleted()).count();
-        int completedGoals = goals.size() - activeGoals;
-
-        // Budget
-        BigDecimal budgetLimit = BigDecimal.ZERO;
-        BigDecimal budgetRemaining = BigDecimal.ZERO;
-        BigDecimal budgetPercentUsed = BigDecimal.ZERO;
-
-        var budgetOpt = budgetRepository.findByUserIdAndMonthAndYear(
-                userId, currentMonth.getMonthValue(), currentMonth.getYear());
-        if (budgetOpt.isPresent()) {
-            Budget budget = budgetOpt.get();
-            budgetLimit = budget.getMonthlyLimit();
-            budgetRemaining = budgetLimit.subtract(currentMonthTotal);
-            budgetPercentUsed = budgetLimit.compareTo(BigDecimal.ZERO) > 0
-                    ? currentMonthTotal.multiply(BigDecimal.valueOf(100))
-                    .divide(budgetLimit, 2, RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
+        if (goals != null) {
+            int activeGoals = (int) goals.stream().filter(g -> !g.isCompleted()).count();
+            stats.totalSavings(goals.stream()
+                            .map(SavingsGoal::getCurrentAmount)
+                            .reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .activeGoals(activeGoals)
+                    .completedGoals(goals.size() - activeGoals);
         }
 
-        // Pending split bills
-        List<SplitBill> pendingSplitBills = splitBillRepository.findByUserIdAndSettled(userId, false);
+        // Budget; without this month's spending only the limit is known
+        if (budgetOpt != null) {
+            BigDecimal budgetLimit = budgetOpt.map(Budget::getMonthlyLimit).orElse(BigDecimal.ZERO);
+            stats.budgetLimit(budgetLimit);
+            if (budgetOpt.isEmpty()) {
+                stats.budgetRemaining(BigDecimal.ZERO).budgetPercentUsed(BigDecimal.ZERO);
+            } else if (currentMonthTotal != null) {
+                stats.budgetRemaining(budgetLimit.subtract(currentMonthTotal))
+                        .budgetPercentUsed(budgetLimit.compareTo(BigDecimal.ZERO) > 0
+                                ? currentMonthTotal.multiply(BigDecimal.valueOf(100))
+                                .divide(budgetLimit, 2, RoundingMode.HALF_UP)
+                                : BigDecimal.ZERO);
+            }
+        }
 
-        return DashboardStatsDto.builder()
-                .totalExpenses(totalExpenses)
-                .totalSavings(totalSavings)
-                .currentMonthExpenses(currentMonthTotal)
-                .budgetLimit(budgetLimit)
-                .budgetRemaining(budgetRemaining)
-                .budgetPercentUsed(budgetPercentUsed)
-                .activeGoals(activeGoals)
-                .completedGoals(completedGoals)
-                .pendingSplitBills(pendingSplitBills.size())
-                .build();
+        return stats.build();
+    }
+
+    /**
+     * Waits for one subquery until the shared deadline. A failed or late subquery leaves its
+     * section out of the response instead of failing the whole dashboard.
+     */
+    private <T> T await(Future<T> future, String section, long deadline, List<String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            log.warn("Dashboard {} query failed: {}", section, ex.getCause().getMessage());
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            log.warn("Dashboard {} query timed out after {} ms", section, subqueryTimeoutMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        meterRegistry.counter("dashboard.stats.degraded", "section", section).increment();
+        unavailable.add(section);
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        statsExecutor.shutdown();
     }
 
     @Override
     public List<CategoryBreakdownDto> getSpendingBreakdown() {
         String userId = securityUtils.getCurrentUserId();
         log.info("Fetching spending breakdown for user: {}", userId);
+        return dashboardResultCache.get(userId, "breakdown", null, EnumSet.of(Dataset.EXPENSES),
+                () -> loadSpendingBreakdown(userId), breakdown -> true);
+    }
 
+    private List<CategoryBreakdownDto> loadSpendingBreakdown(String userId) {
         YearMonth currentMonth = YearMonth.now();
-        LocalDate startOfMonth = currentMonth.atDay(1);
-        LocalDate endOfMonth = currentMonth.atEndOfMonth();
-
-        var categoryStats = expenseRepository
-                .getCategoryStatsByUserIdAndDateBetween(userId, startOfMonth, endOfMonth);
-
-        // Handle null or empty results
-        if (categoryStats == null || categoryStats.isEmpty()) {
+        List<MonthlyRollup> rollups = monthlyRollupService.getRollups(userId, currentMonth, currentMonth);
+        if (rollups.isEmpty()) {
             return new ArrayList<>();
         }
 
-        BigDecimal totalAmount = categoryStats.stream()
-                .map(s -> s.getTotal() != null ? BigDecimal.valueOf(s.getTotal()) : BigDecimal.ZERO)
+        BigDecimal totalAmount = rollups.stream()
+                .map(MonthlyRollup::getTotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        return categoryStats.stream()
-                .map(stat -> {
-                    BigDecimal amount = stat.getTotal() != null 
-                            ? BigDecimal.valueOf(stat.getTotal()) 
-                            : BigDecimal.ZERO;
+        return rollups.stream()
+                .sorted(Comparator.comparing(MonthlyRollup::getTotal).reversed())
+                .map(rollup -> {
+                    BigDecimal amount = rollup.getTotal();
                     BigDecimal percentage = totalAmount.compareTo(BigDecimal.ZERO) > 0
                             ? amount.multiply(BigDecimal.valueOf(100))
                             .divide(totalAmount, 2, RoundingMode.HALF_UP)
                             : BigDecimal.ZERO;
 
                     return CategoryBreakdownDto.builder()
-                            .category(stat.get_id() != null ? stat.get_id() : "Unknown")
+                            .category(rollup.getCategory() != null ? rollup.getCategory() : "Unknown")
                             .amount(amount)
-                            .count(stat.getCount() != null ? stat.getCount() : 0)
+                            .count((int) rollup.getCount())
                             .percentage(percentage)
                             .build();
                 })
@@ -144,32 +207,166 @@ public class DashboardServiceImpl implements DashboardService {
     @Override
     public List<MonthlyTrendDto> getSpendingTrends(Integer months) {
         String userId = securityUtils.getCurrentUserId();
-        int numMonths = months != null ? months : 6;
+        int numMonths = validateMonths(months);
         log.info("Fetching spending trends for last {} months for user: {}", numMonths, userId);
+        return dashboardResultCache.get(userId, "trends", numMonths, EnumSet.of(Dataset.EXPENSES),
+                () -> loadSpendingTrends(userId, numMonths), trends -> true);
+    }
 
+    private List<MonthlyTrendDto> loadSpendingTrends(String userId, int numMonths) {
         List<MonthlyTrendDto> trends = new ArrayList<>();
         YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(numMonths - 1);
 
-        for (int i = numMonths - 1; i >= 0; i--) {
-            YearMonth targetMonth = currentMonth.minusMonths(i);
-            LocalDate startDate = targetMonth.atDay(1);
-            LocalDate endDate = targetMonth.atEndOfMonth();
-
-            List<Expense> expenses = expenseRepository
-                    .findByUserIdAndDateBetween(userId, startDate, endDate);
-
-            BigDecimal amount = expenses.stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<String, BigDecimal> totalsByMonth = new HashMap<>();
+        for (MonthlyRollup rollup : monthlyRollupService.getRollups(userId, firstMonth, currentMonth)) {
+            totalsByMonth.merge(rollup.getMonth(), rollup.getTotal(), BigDecimal::add);
+        }
 
+        for (YearMonth targetMonth = firstMonth; !targetMonth.isAfter(currentMonth); targetMonth = targetMonth.plusMonths(1)) {
             trends.add(MonthlyTrendDto.builder()
                     .month(targetMonth.getMonthValue())
                     .year(targetMonth.getYear())
                     .monthName(targetMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
-                    .amount(amount)
+                    .amount(totalsByMonth.getOrDefault(targetMonth.toString(), BigDecimal.ZERO))
                     .build());
         }
 
         return trends;
     }
+
+    @Override
+    public SpendingTrendsDto getSpendingTrends(Integer months, TrendGranularity granularity, boolean byCategory) {
+        String userId = securityUtils.getCurrentUserId();
+        int numMonths = validateMonths(months);
+        log.info("Fetching {} spending trends for last {} months for user: {}", granularity, numMonths, userId);
+
+        YearMonth currentMonth = YearMonth.now();
+        LocalDate from = currentMonth.minusMonths(numMonths - 1).atDay(1);
+        LocalDate to = currentMonth.atEndOfMonth();
+
+        long started = System.nanoTime();
+        // Months and years are sums of rollups; finer buckets need the expenses themselves
+        Map<LocalDate, Map<String, TrendTotals>> totals = switch (granularity) {
+            case MONTH, YEAR -> rollupTotals(userId, from, to, granularity, byCategory);
+            case DAY, WEEK -> aggregateTotals(userId, from, to, granularity, byCategory);
+        };
+        long elapsedNanos = System.nanoTime() - started;
+        Timer.builder("dashboard.trends.query")
+                .description("Time to load the totals behind a spending trend chart")
+                .tag("granularity", granularity.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        List<TrendBucketDto> buckets = new ArrayList<>();
+        Map<String, BigDecimal> categoryTotals = new HashMap<>();
+        for (LocalDate start = granularity.truncate(from); !start.isAfter(to); start = granularity.next(start)) {
+            BigDecimal amount = BigDecimal.ZERO;
+            long count = 0;
+            Map<String, BigDecimal> categories = byCategory ? new TreeMap<>() : null;
+            for (Map.Entry<String, TrendTotals> entry : totals.getOrDefault(start, Map.of()).entrySet()) {
+                amount = amount.add(entry.getValue().amount);
+                count += entry.getValue().count;
+                if (byCategory) {
+                    categories.put(entry.getKey(), entry.getValue().amount);
+                    categoryTotals.merge(entry.getKey(), entry.getValue().amount, BigDecimal::add);
+                }
+            }
+            buckets.add(TrendBucketDto.builder()
+                    .start(start)
+                    .label(granularity.label(start))
+                    .amount(amount)
+                    .count(count)
+                    .categories(categories)
+                    .build());
+        }
+
+        return SpendingTrendsDto.builder()
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .categories(byCategory ? categoryTotals.entrySet().stream()
+                        .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
+                        .map(Map.Entry::getKey)
+                        .toList() : null)
+                .buckets(buckets)
+                .queryTimeMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .build();
+    }
+
+    private int validateMonths(Integer months) {
+        int numMonths = months != null ? months : 6;
+        if (numMonths < 1 || numMonths > maxTrendMonths) {
+            throw new BadRequestException("months must be between 1 and " + maxTrendMonths);
+        }
+        return numMonths;
+    }
+
+    private Map<LocalDate, Map<String, TrendTotals>> rollupTotals(
+            String userId, LocalDate from, LocalDate to, TrendGranularity granularity, boolean byCategory) {
+        Map<LocalDate, Map<String, TrendTotals>> totals = new HashMap<>();
+        for (MonthlyRollup rollup : monthlyRollupService.getRollups(userId, YearMonth.from(from), YearMonth.from(to))) {
+            LocalDate bucket = granularity.truncate(YearMonth.parse(rollup.getMonth()).atDay(1));
+            totals.computeIfAbsent(bucket, ignored -> new HashMap<>())
+                    .computeIfAbsent(pivotKey(rollup.getCategory(), byCategory), ignored -> new TrendTotals())
+                    .add(rollup.getTotal(), rollup.getCount());
+        }
+        return totals;
+    }
+
+    private Map<LocalDate, Map<String, TrendTotals>> aggregateTotals(
+            String userId, LocalDate from, LocalDate to, TrendGranularity granularity, boolean byCategory) {
+        // Dates are LocalDates stored as local midnight, so buckets are cut in the server's zone
+        ZoneId zone = ZoneId.systemDefault();
+        Document truncate = new Document("date", "$date")
+                .append("unit", granularity.name().toLowerCase(Locale.ROOT))
+                .append("timezone", zone.getId());
+        if (granularity == TrendGranularity.WEEK) {
+            truncate.append("startOfWeek", "monday");
+        }
+        Document groupId = new Document("bucket", new Document("$dateTrunc", truncate));
+        if (byCategory) {
+            groupId.append("category", "$category");
+        }
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("userId", userId)
+                        .append("date", new Document("$gte", Date.from(from.atStartOfDay(zone).toInstant()))
+                                .append("$lte", Date.from(to.atStartOfDay(zone).toInstant())))),
+                new Document("$group", new Document("_id", groupId)
+                        .append("total", new Document("$sum", "$amount"))
+                        .append("count", new Document("$sum", 1))));
+
+        Map<LocalDate, Map<String, TrendTotals>> totals = new HashMap<>();
+        for (Document row : mongoTemplate.getCollection("expenses").aggregate(pipeline)) {
+            Document id = row.get("_id", Document.class);
+            LocalDate bucket = id.getDate("bucket").toInstant().atZone(zone).toLocalDate();
+            // $sum yields an int 0 rather than a decimal when no amounts were summed
+            BigDecimal amount = row.get("total") instanceof Decimal128 total
+                    ? total.bigDecimalValue()
+                    : new BigDecimal(row.get("total").toString());
+            totals.computeIfAbsent(bucket, ignored -> new HashMap<>())
+                    .computeIfAbsent(pivotKey(id.getString("category"), byCategory), ignored -> new TrendTotals())
+                    .add(amount, ((Number) row.get("count")).longValue());
+        }
+        return totals;
+    }
+
+    // Without the pivot every row of a bucket lands under one shared key
+    private static String pivotKey(String category, boolean byCategory) {
+        if (!byCategory) {
+            return "";
+        }
+        return category != null ? category : "Unknown";
+    }
+
+    private static final class TrendTotals {
+
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        void add(BigDecimal delta, long rows) {
+            amount = amount.add(delta);
+            count += rows;
+        }
+    }
 }
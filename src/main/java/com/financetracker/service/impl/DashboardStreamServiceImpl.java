@@ -0,0 +1,165 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.dto.DataChangeEventDto;
+import com.financetracker.entity.UserDataVersion;
+import com.financetracker.exception.ServiceUnavailableException;
+import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.DashboardStreamService;
+import com.financetracker.service.DataVersionService;
+import com.financetracker.service.UserDataChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the open dashboard streams per user and pushes every {@link UserDataChangedEvent} to
+ * them. An idle stream is an async servlet request, so it holds a socket but no thread. Change
+ * events and heartbeats are written on virtual threads, so a slow client never delays the write
+ * request that raised the event. Heartbeats keep proxies from closing idle connections.
+ */
+@Slf4j
+@Service
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+
+    private static final String BUSY_MESSAGE = "Too many open dashboard streams, please retry shortly";
+
+    private final SecurityUtils securityUtils;
+    private final DataVersionService dataVersionService;
+    private final Map<String, Deque<SseEmitter>> emittersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMs;
+    private final long reconnectMs;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+
+    public DashboardStreamServiceImpl(SecurityUtils securityUtils,
+                                      DataVersionService dataVersionService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${dashboard.stream.timeout-ms:1800000}") long timeoutMs,
+                                      @Value("${dashboard.stream.reconnect-ms:5000}") long reconnectMs,
+                                      @Value("${dashboard.stream.max-connections:50000}") int maxConnections,
+                                      @Value("${dashboard.stream.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.securityUtils = securityUtils;
+        this.dataVersionService = dataVersionService;
+        this.timeoutMs = timeoutMs;
+        this.reconnectMs = reconnectMs;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        Gauge.builder("dashboard.stream.connections", connections, AtomicInteger::get)
+                .description("Open dashboard change streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        String userId = securityUtils.getCurrentUserId();
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        // Completing on timeout ends the stream cleanly; the client reconnects on its own
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> remove(userId, emitter));
+
+        // Lets a reconnecting client tell whether anything changed while it was away
+        Map<UserDataVersion.Dataset, Long> versions;
+        try {
+            versions = dataVersionService.getVersions(userId);
+        } catch (DataAccessException ex) {
+            versions = Map.of();
+        }
+
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        }
+        SseEmitter evicted = register(userId, emitter);
+        if (evicted != null) {
+            evicted.complete();
+        }
+        send(userId, emitter, SseEmitter.event().name("ready").reconnectTime(reconnectMs).data(versions));
+        log.debug("Dashboard stream opened for user {}", userId);
+        return emitter;
+    }
+
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        Deque<SseEmitter> emitters = emittersByUser.get(event.userId());
+        if (emitters == null) {
+            return;
+        }
+        DataChangeEventDto delta = DataChangeEventDto.builder()
+                .dataset(event.dataset())
+                .version(event.version())
+                .build();
+        for (SseEmitter emitter : emitters) {
+            sender.execute(() -> send(event.userId(), emitter, SseEmitter.event().name("change").data(delta)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emittersByUser.forEach((userId, emitters) -> emitters.forEach(emitter ->
+                sender.execute(() -> send(userId, emitter, SseEmitter.event().comment("heartbeat")))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        emittersByUser.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        sender.shutdown();
+    }
+
+    /**
+     * Adds the stream, returning the user's oldest one if this pushes them over their limit.
+     */
+    private SseEmitter register(String userId, SseEmitter emitter) {
+        SseEmitter[] evicted = new SseEmitter[1];
+        emittersByUser.compute(userId, (key, emitters) -> {
+            Deque<SseEmitter> open = emitters != null ? emitters : new ConcurrentLinkedDeque<>();
+            open.addLast(emitter);
+            if (open.size() > maxConnectionsPerUser) {
+                evicted[0] = open.pollFirst();
+            }
+            return open;
+        });
+        if (evicted[0] != null) {
+            connections.decrementAndGet();
+        }
+        return evicted[0];
+    }
+
+    private void remove(String userId, SseEmitter emitter) {
+        boolean[] removed = new boolean[1];
+        emittersByUser.computeIfPresent(userId, (key, emitters) -> {
+            removed[0] = emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        if (removed[0]) {
+            connections.decrementAndGet();
+        }
+    }
+
+    private void send(String userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away or the stream already ended; the container finishes the request
+            remove(userId, emitter);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.UserDataVersion;
+import com.financetracker.service.DataVersionService;
+import com.financetracker.service.UserDataChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Keeps the version counters in Mongo so every instance agrees on them, with a short-lived
+ * local copy so conditional GETs are answered without a database round trip. Writes on this
+ * instance update the local copy immediately; the TTL bounds how long a write handled by
+ * another instance can go unseen.
+ */
+@Slf4j
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<String, Map<UserDataVersion.Dataset, Long>> versionsByUser;
+
+    public DataVersionServiceImpl(MongoTemplate mongoTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${etag.version-cache.max-size:10000}") long maxSize,
+                                  @Value("${etag.version-cache.ttl-seconds:5}") long ttlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.versionsByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versionsByUser, "userDataVersions");
+    }
+
+    @Override
+    public Map<UserDataVersion.Dataset, Long> getVersions(String userId) {
+        return versionsByUser.get(userId, key -> {
+            UserDataVersion stored = mongoTemplate.findById(key, UserDataVersion.class);
+            return stored == null ? Map.of() : copyOf(stored.getVersions());
+        });
+    }
+
+    @Override
+    public void bump(String userId, UserDataVersion.Dataset dataset) {
+        Long version = null;
+        try {
+            UserDataVersion updated = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("userId").is(userId)),
+                    new Update().inc("versions." + dataset.name(), 1).set("updatedAt", LocalDateTime.now()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    UserDataVersion.class);
+            if (updated != null) {
+                version = updated.getVersions().get(dataset);
+                // Concurrent bumps can finish out of order, so never let the local copy move backwards
+                versionsByUser.asMap().merge(userId, copyOf(updated.getVersions()), DataVersionServiceImpl::newest);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not bump {} version for user {}: {}", dataset, userId, ex.getMessage());
+            versionsByUser.invalidate(userId);
+        }
+        // The data changed even if its version could not be recorded
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, dataset, version));
+    }
+
+    private static Map<UserDataVersion.Dataset, Long> newest(Map<UserDataVersion.Dataset, Long> cached,
+                                                             Map<UserDataVersion.Dataset, Long> written) {
+        Map<UserDataVersion.Dataset, Long> merged = new EnumMap<>(UserDataVersion.Dataset.class);
+        merged.putAll(cached);
+        written.forEach((dataset, version) -> merged.merge(dataset, version, Math::max));
+        return Map.copyOf(merged);
+    }
+
+    private static Map<UserDataVersion.Dataset, Long> copyOf(Map<UserDataVersion.Dataset, Long> versions) {
+        return versions == null ? Map.of() : Map.copyOf(versions);
+    }
+}
@@ -0,0 +1,177 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.EmailOutboxMessage;
+import com.financetracker.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox in batches. Each batch goes out over a single SMTP connection;
+ * failed messages are retried with exponential backoff and dead-lettered after the last attempt.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadLetterCounter;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${email.outbox.lease-ms:120000}")
+    private long leaseMs;
+
+    public EmailOutboxDispatcher(MongoTemplate mongoTemplate,
+                                 EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        Gauge.builder("email.outbox.depth", queueDepth, AtomicLong::get)
+                .description("Pending messages in the email outbox")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("email.outbox.sent");
+        this.retryCounter = meterRegistry.counter("email.outbox.retried");
+        this.deadLetterCounter = meterRegistry.counter("email.outbox.dead");
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        try {
+            List<EmailOutboxMessage> batch = claimBatch();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+            queueDepth.set(emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING));
+        } catch (Exception ex) {
+            log.error("Email outbox dispatch failed", ex);
+        }
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Query due = new Query(Criteria.where("status").is(EmailOutboxMessage.Status.PENDING)
+                .and("nextAttemptAt").lte(now))
+                .with(Sort.by("nextAttemptAt"));
+        // Pushing nextAttemptAt past the lease hides a claimed message from other dispatchers
+        Update lease = new Update().set("nextAttemptAt", now.plus(Duration.ofMillis(leaseMs)));
+
+        List<EmailOutboxMessage> batch = new ArrayList<>();
+        while (batch.size() < batchSize) {
+            EmailOutboxMessage claimed = mongoTemplate.findAndModify(
+                    due, lease, FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+            if (claimed == null) {
+                break;
+            }
+            batch.add(claimed);
+        }
+        return batch;
+    }
+
+    private void deliver(List<EmailOutboxMessage> batch) {
+        SimpleMailMessage[] messages = batch.stream()
+                .map(this::toMailMessage)
+                .toArray(SimpleMailMessage[]::new);
+
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            batchFailure = ex;
+        } catch (MailException ex) {
+            batchFailure = ex;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxMessage message = batch.get(i);
+            Exception failure = failures.isEmpty() ? batchFailure : failures.get(messages[i]);
+            if (failure == null) {
+                markSent(message);
+            } else {
+                markFailed(message, failure);
+            }
+        }
+        log.info("Email outbox batch of {} processed", batch.size());
+    }
+
+    private void markSent(EmailOutboxMessage message) {
+        message.setStatus(EmailOutboxMessage.Status.SENT);
+        message.setAttempts(message.getAttempts() + 1);
+        message.setSentAt(LocalDateTime.now());
+        message.setLastError(null);
+        emailOutboxRepository.save(message);
+        sentCounter.increment();
+    }
+
+    private void markFailed(EmailOutboxMessage message, Exception failure) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(failure.getMessage());
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.DEAD);
+            deadLetterCounter.increment();
+            log.error("Email {} to {} dead-lettered after {} attempts: {}",
+                    message.getId(), message.getTo(), attempts, failure.getMessage());
+        } else {
+            long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+            message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+            retryCounter.increment();
+            log.warn("Email {} to {} failed (attempt {}), retrying in {} ms: {}",
+                    message.getId(), message.getTo(), attempts, backoffMs, failure.getMessage());
+        }
+        emailOutboxRepository.save(message);
+    }
+
+    private SimpleMailMessage toMailMessage(EmailOutboxMessage outboxMessage) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(outboxMessage.getTo());
+        message.setSubject(outboxMessage.getSubject());
+        message.setText(outboxMessage.getBody());
+        return message;
+    }
+}
@@ -1,21 +1,27 @@
 package com.financetracker.service.impl;
 
+import com.financetracker.entity.EmailOutboxMessage;
+import com.financetracker.repository.EmailOutboxRepository;
 import com.financetracker.service.EmailService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    public EmailServiceImpl(JavaMailSender mailSender) {
+    public EmailServiceImpl(JavaMailSender mailSender, EmailOutboxRepository emailOutboxRepository) {
         this.mailSender = mailSender;
+        this.emailOutboxRepository = emailOutboxRepository;
     }
 
     @Override
@@ -27,4 +33,14 @@ public class EmailServiceImpl implements EmailService {
         message.setText(body);
         mailSender.send(message);
     }
+
+    @Override
+    public void queueEmail(String to, String subject, String body) {
+        emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .to(to)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
 }
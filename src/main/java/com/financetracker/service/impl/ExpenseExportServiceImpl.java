@@ -0,0 +1,145 @@
+package com.financetracker.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financetracker.dto.ExpenseDto;
+import com.financetracker.dto.ExportFormat;
+import com.financetracker.entity.Expense;
+import com.financetracker.exception.BadRequestException;
+import com.financetracker.mapper.ExpenseMapper;
+import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.ExpenseExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseExportServiceImpl implements ExpenseExportService {
+
+    private static final String CSV_HEADER = "id,date,category,description,amount,notes,createdAt,updatedAt";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MongoTemplate mongoTemplate;
+    private final ExpenseMapper expenseMapper;
+    private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
+
+    @Value("${expense.export.cursor-batch-size:500}")
+    private int cursorBatchSize;
+
+    @Override
+    public StreamingResponseBody exportExpenses(ExportFormat format, LocalDate from, LocalDate to, boolean gzip) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        // The body is written on an async thread without the security context, so resolve the user now
+        String userId = securityUtils.getCurrentUserId();
+        log.info("Exporting expenses as {} for user: {} ({} to {})", format, userId, from, to);
+
+        Query query = buildQuery(userId, from, to);
+        // Rows are flushed with the buffer, not one by one
+        ObjectWriter ndjsonWriter = objectMapper.writerFor(ExpenseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+            long rows = 0;
+            try (Stream<Expense> expenses = mongoTemplate.stream(query, Expense.class)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                    for (Expense expense : (Iterable<Expense>) expenses::iterator) {
+                        writeCsvRow(writer, expense);
+                        rows++;
+                    }
+                } else {
+                    JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    generator.setRootValueSeparator(new SerializedString("\n"));
+                    for (Expense expense : (Iterable<Expense>) expenses::iterator) {
+                        ndjsonWriter.writeValue(generator, expenseMapper.toDto(expense));
+                        rows++;
+                    }
+                    generator.close();
+                    if (rows > 0) {
+                        writer.write('\n');
+                    }
+                }
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            log.info("Exported {} expenses for user: {}", rows, userId);
+        };
+    }
+
+    private Query buildQuery(String userId, LocalDate from, LocalDate to) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (from != null || to != null) {
+            Criteria date = Criteria.where("date");
+            if (from != null) {
+                date = date.gte(from);
+            }
+            if (to != null) {
+                date = date.lte(to);
+            }
+            criteria = criteria.andOperator(date);
+        }
+        // Same order as user_date_id_idx so the cursor walks the index without an in-memory sort
+        Query query = new Query(criteria).with(Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id")));
+        query.cursorBatchSize(cursorBatchSize);
+        return query;
+    }
+
+    private void writeCsvRow(Writer writer, Expense expense) throws IOException {
+        writer.write(csv(expense.getId()));
+        writer.write(',');
+        writer.write(csv(expense.getDate()));
+        writer.write(',');
+        writer.write(csv(expense.getCategory()));
+        writer.write(',');
+        writer.write(csv(expense.getDescription()));
+        writer.write(',');
+        writer.write(expense.getAmount() != null ? expense.getAmount().toPlainString() : "");
+        writer.write(',');
+        writer.write(csv(expense.getNotes()));
+        writer.write(',');
+        writer.write(csv(expense.getCreatedAt()));
+        writer.write(',');
+        writer.write(csv(expense.getUpdatedAt()));
+        writer.write('\n');
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
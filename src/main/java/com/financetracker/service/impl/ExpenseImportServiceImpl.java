@@ -0,0 +1,431 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.dto.ImportJobDto;
+import com.financetracker.entity.Expense;
+import com.financetracker.entity.ImportJob;
+import com.financetracker.entity.UserDataVersion;
+import com.financetracker.exception.BadRequestException;
+import com.financetracker.exception.ResourceNotFoundException;
+import com.financetracker.exception.ServiceUnavailableException;
+import com.financetracker.importer.ExpenseFileParser;
+import com.financetracker.importer.ImportFormat;
+import com.financetracker.importer.ImportRow;
+import com.financetracker.mapper.ImportJobMapper;
+import com.financetracker.repository.ImportJobRepository;
+import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.CategoryRegistryService;
+import com.financetracker.service.DataVersionService;
+import com.financetracker.service.ExpenseImportService;
+import com.financetracker.service.MonthlyRollupService;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports uploaded statements in the background: rows are parsed as a stream, validated and
+ * mapped one by one, and written with unordered bulk inserts of a configurable size.
+ * The instance holding a job refreshes its heartbeat while it is queued or running. A job whose
+ * heartbeat stopped is reported as failed. Job status changes are conditional on the expected
+ * current status, so a job reported as failed stays failed.
+ */
+@Slf4j
+@Service
+public class ExpenseImportServiceImpl implements ExpenseImportService {
+
+    private static final String DEFAULT_CATEGORY = "Other";
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobMapper importJobMapper;
+    private final MongoTemplate mongoTemplate;
+    private final SecurityUtils securityUtils;
+    private final CategoryRegistryService categoryRegistryService;
+    private final DataVersionService dataVersionService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ThreadPoolExecutor executor;
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final Duration staleAfter;
+    private final long progressIntervalNanos;
+    private final Set<String> queuedJobIds = ConcurrentHashMap.newKeySet();
+
+    public ExpenseImportServiceImpl(ImportJobRepository importJobRepository,
+                                    ImportJobMapper importJobMapper,
+                                    MongoTemplate mongoTemplate,
+                                    SecurityUtils securityUtils,
+                                    CategoryRegistryService categoryRegistryService,
+                                    DataVersionService dataVersionService,
+                                    MonthlyRollupService monthlyRollupService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${expense.import.batch-size:1000}") int batchSize,
+                                    @Value("${expense.import.max-reported-errors:100}") int maxReportedErrors,
+                                    @Value("${expense.import.pool-size:2}") int poolSize,
+                                    @Value("${expense.import.queue-capacity:16}") int queueCapacity,
+                                    @Value("${expense.import.stale-after-minutes:10}") long staleAfterMinutes,
+                                    @Value("${expense.import.progress-interval-seconds:5}") long progressIntervalSeconds) {
+        this.importJobRepository = importJobRepository;
+        this.importJobMapper = importJobMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.securityUtils = securityUtils;
+        this.categoryRegistryService = categoryRegistryService;
+        this.dataVersionService = dataVersionService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.staleAfter = Duration.ofMinutes(staleAfterMinutes);
+        this.progressIntervalNanos = TimeUnit.SECONDS.toNanos(progressIntervalSeconds);
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("expense-import-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.importedCounter = meterRegistry.counter("expense.import.rows", "outcome", "imported");
+        this.failedCounter = meterRegistry.counter("expense.import.rows", "outcome", "failed");
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "expense.import", List.of());
+    }
+
+    @Override
+    public ImportJobDto startImport(MultipartFile file, String format) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is required");
+        }
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getOriginalFilename());
+        String userId = securityUtils.getCurrentUserId();
+
+        // The multipart temp file is removed when the request ends, so keep our own copy
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("expense-import-", "." + importFormat.name().toLowerCase());
+            file.transferTo(spooled);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not store import file", ex);
+        }
+
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .userId(userId)
+                .format(importFormat.name())
+                .fileName(file.getOriginalFilename())
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+        log.info("Queued {} import {} for user: {}", importFormat, job.getId(), userId);
+
+        queuedJobIds.add(job.getId());
+        try {
+            executor.execute(() -> runImport(job, importFormat, spooled));
+        } catch (RejectedExecutionException ex) {
+            queuedJobIds.remove(job.getId());
+            deleteQuietly(spooled);
+            importJobRepository.delete(job);
+            throw new ServiceUnavailableException("Too many imports in progress, please retry shortly");
+        }
+        return importJobMapper.toDto(job);
+    }
+
+    @Override
+    public ImportJobDto getImportJob(String jobId) {
+        String userId = securityUtils.getCurrentUserId();
+        ImportJob job = importJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", jobId));
+
+        LocalDateTime lastHeartbeat = job.getHeartbeatAt() != null ? job.getHeartbeatAt() : job.getUpdatedAt();
+        boolean unfinished = job.getStatus() == ImportJob.Status.QUEUED || job.getStatus() == ImportJob.Status.RUNNING;
+        if (unfinished && lastHeartbeat != null && lastHeartbeat.isBefore(LocalDateTime.now().minus(staleAfter))) {
+            // Only matches if the holder has not written since it was read
+            Query stale = Query.query(Criteria.where("id").is(job.getId())
+                    .and("status").is(job.getStatus())
+                    .and("heartbeatAt").is(job.getHeartbeatAt()));
+            ImportJob failed = mongoTemplate.findAndModify(stale, new Update()
+                            .set("status", ImportJob.Status.FAILED)
+                            .set("message", "Import was interrupted, please upload the file again")
+                            .set("completedAt", LocalDateTime.now()),
+                    FindAndModifyOptions.options().returnNew(true), ImportJob.class);
+            job = failed != null ? failed : importJobRepository.findByIdAndUserId(jobId, userId).orElse(job);
+        }
+        return importJobMapper.toDto(job);
+    }
+
+    /**
+     * Keeps queued jobs from being reported as failed while they wait for a worker.
+     */
+    @Scheduled(fixedDelayString = "${expense.import.heartbeat-ms:60000}")
+    public void heartbeatQueuedJobs() {
+        if (queuedJobIds.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(queuedJobIds)
+                            .and("status").is(ImportJob.Status.QUEUED)),
+                    Update.update("heartbeatAt", LocalDateTime.now()), ImportJob.class);
+        } catch (DataAccessException ex) {
+            log.warn("Could not refresh queued import heartbeats: {}", ex.getMessage());
+        }
+    }
+
+    private void runImport(ImportJob job, ImportFormat format, Path file) {
+        queuedJobIds.remove(job.getId());
+        long started = System.nanoTime();
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        if (!transition(job, ImportJob.Status.QUEUED, new Update()
+                .set("status", ImportJob.Status.RUNNING)
+                .set("startedAt", job.getStartedAt()))) {
+            log.warn("Import {} was reported as failed while queued, not starting it", job.getId());
+            deleteQuietly(file);
+            return;
+        }
+
+        ExpenseFileParser parser = format.newParser();
+        List<Expense> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        long[] lastProgress = {System.nanoTime()};
+        try (Reader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), 64 * 1024)) {
+            parser.parse(reader, row -> {
+                job.setProcessedRows(job.getProcessedRows() + 1);
+                Expense expense = toExpense(row, parser, job);
+                if (expense != null) {
+                    batch.add(expense);
+                    batchLines.add(row.line());
+                }
+                // Skipped and rejected rows never fill a batch, so progress is also saved on a timer
+                boolean batchFull = batch.size() >= batchSize;
+                if (batchFull || System.nanoTime() - lastProgress[0] >= progressIntervalNanos) {
+                    if (batchFull) {
+                        flush(job, batch, batchLines);
+                    }
+                    saveProgress(job);
+                    lastProgress[0] = System.nanoTime();
+                }
+            });
+            flush(job, batch, batchLines);
+
+            job.setStatus(ImportJob.Status.COMPLETED);
+            job.setMessage(null);
+        } catch (CancellationException ex) {
+            log.warn("Import {} stopped: {}", job.getId(), ex.getMessage());
+            return;
+        } catch (Exception ex) {
+            // Rows already written stay imported; the counts tell the client how far it got
+            log.error("Import {} failed: {}", job.getId(), ex.getMessage());
+            job.setStatus(ImportJob.Status.FAILED);
+            job.setMessage(ex instanceof IllegalArgumentException ? ex.getMessage() : "Import failed");
+        } finally {
+            deleteQuietly(file);
+        }
+
+        job.setCompletedAt(LocalDateTime.now());
+        if (!transition(job, ImportJob.Status.RUNNING, progress(job)
+                .set("status", job.getStatus())
+                .set("message", job.getMessage())
+                .set("completedAt", job.getCompletedAt()))) {
+            log.warn("Import {} finished after it was reported as failed; its status was left as failed", job.getId());
+        }
+        log.info("Import {} {}: {} imported, {} skipped, {} failed of {} rows in {} ms",
+                job.getId(), job.getStatus(), job.getImportedRows(), job.getSkippedRows(),
+                job.getFailedRows(), job.getProcessedRows(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Validates one row and maps it to an expense, or records why it was rejected and returns null.
+     */
+    private Expense toExpense(ImportRow row, ExpenseFileParser parser, ImportJob job) {
+        if (isBlank(row.date())) {
+            return reject(job, row.line(), "Date is required");
+        }
+        if (isBlank(row.amount())) {
+            return reject(job, row.line(), "Amount is required");
+        }
+        if (isBlank(row.description())) {
+            return reject(job, row.line(), "Description is required");
+        }
+
+        LocalDate date;
+        try {
+            date = parser.parseDate(row.date().trim());
+        } catch (DateTimeParseException ex) {
+            return reject(job, row.line(), "Invalid date: " + row.date());
+        }
+
+        BigDecimal amount = parseAmount(row.amount());
+        if (amount == null) {
+            return reject(job, row.line(), "Invalid amount: " + row.amount());
+        }
+        if (parser.signedAmounts()) {
+            if (amount.signum() > 0) {
+                job.setSkippedRows(job.getSkippedRows() + 1);
+                return null;
+            }
+            amount = amount.negate();
+        }
+        if (amount.compareTo(new BigDecimal("0.01")) < 0) {
+            return reject(job, row.line(), "Amount must be greater than zero");
+        }
+
+        String description = row.description().trim();
+        return Expense.builder()
+                .userId(job.getUserId())
+                .date(date)
+                .amount(amount)
+                .description(description.length() > MAX_DESCRIPTION_LENGTH
+                        ? description.substring(0, MAX_DESCRIPTION_LENGTH) : description)
+                .category(isBlank(row.category()) ? DEFAULT_CATEGORY : row.category().trim())
+                .notes(isBlank(row.notes()) ? null : row.notes().trim())
+                .build();
+    }
+
+    private void saveProgress(ImportJob job) {
+        if (!transition(job, ImportJob.Status.RUNNING, progress(job))) {
+            throw new CancellationException("reported as failed while running");
+        }
+    }
+
+    private static Update progress(ImportJob job) {
+        return new Update()
+                .set("processedRows", job.getProcessedRows())
+                .set("importedRows", job.getImportedRows())
+                .set("skippedRows", job.getSkippedRows())
+                .set("failedRows", job.getFailedRows())
+                .set("errors", job.getErrors());
+    }
+
+    /**
+     * Applies the update, with a fresh heartbeat, only while the job still has the expected status.
+     */
+    private boolean transition(ImportJob job, ImportJob.Status expected, Update update) {
+        LocalDateTime now = LocalDateTime.now();
+        update.set("heartbeatAt", now).set("updatedAt", now);
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(job.getId()).and("status").is(expected)),
+                update, ImportJob.class).getMatchedCount() > 0;
+    }
+
+    private void flush(ImportJob job, List<Expense> batch, List<Long> batchLines) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int inserted;
+        Set<Integer> failedIndexes = new HashSet<>();
+        try {
+            BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Expense.class)
+                    .insert(batch)
+                    .execute();
+            inserted = result.getInsertedCount();
+        } catch (BulkOperationException ex) {
+            // Unordered: every other row in the batch was still written
+            inserted = ex.getResult().getInsertedCount();
+            for (BulkWriteError error : ex.getErrors()) {
+                failedIndexes.add(error.getIndex());
+                reject(job, batchLines.get(error.getIndex()), error.getMessage());
+            }
+        }
+
+        List<Expense> written = new ArrayList<>(batch.size());
+        Map<String, Long> categoryDeltas = new HashMap<>();
+        for (int index = 0; index < batch.size(); index++) {
+            if (!failedIndexes.contains(index)) {
+                written.add(batch.get(index));
+                categoryDeltas.merge(batch.get(index).getCategory(), 1L, Long::sum);
+            }
+        }
+        categoryRegistryService.adjust(job.getUserId(), categoryDeltas);
+        monthlyRollupService.recordChanges(job.getUserId(), List.of(), written);
+        if (inserted > 0) {
+            dataVersionService.bump(job.getUserId(), UserDataVersion.Dataset.EXPENSES);
+        }
+        job.setImportedRows(job.getImportedRows() + inserted);
+        importedCounter.increment(inserted);
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private Expense reject(ImportJob job, long line, String message) {
+        job.setFailedRows(job.getFailedRows() + 1);
+        failedCounter.increment();
+        if (job.getErrors().size() < maxReportedErrors) {
+            job.getErrors().add(new ImportJob.RowError(line, message));
+        }
+        return null;
+    }
+
+    /**
+     * Accepts bank-style amounts such as "$1,234.50", "-12.00" or "(12.00)".
+     */
+    private static BigDecimal parseAmount(String value) {
+        String text = value.trim();
+        boolean negative = false;
+        if (text.startsWith("(") && text.endsWith(")")) {
+            negative = true;
+            text = text.substring(1, text.length() - 1);
+        }
+        text = text.replaceAll("[\\s,$€£]", "");
+        try {
+            BigDecimal amount = new BigDecimal(text);
+            return negative ? amount.negate() : amount;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete import file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,156 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.dto.ExpenseDto;
+import com.financetracker.dto.ExpenseQueryRequest;
+import com.financetracker.entity.Expense;
+import com.financetracker.exception.BadRequestException;
+import com.financetracker.mapper.ExpenseMapper;
+import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.ExpenseQueryService;
+import com.financetracker.util.Constants;
+import com.mongodb.MongoExecutionTimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the expense query from whichever filters were supplied and pins it to the compound
+ * index that serves both the equality prefix and the requested sort, so no shape ends in a
+ * collection scan or an in-memory sort. Broad queries are bounded by a server time limit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseQueryServiceImpl implements ExpenseQueryService {
+
+    private static final String DATE_INDEX = "user_date_id_idx";
+    private static final String CATEGORY_DATE_INDEX = "user_category_date_id_idx";
+    private static final String AMOUNT_INDEX = "user_amount_id_idx";
+    private static final int MAX_CATEGORIES = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final ExpenseMapper expenseMapper;
+    private final SecurityUtils securityUtils;
+
+    @Value("${expense.query.max-time-ms:2000}")
+    private long maxTimeMs;
+
+    @Value("${expense.query.max-offset:10000}")
+    private int maxOffset;
+
+    @Override
+    public Page<ExpenseDto> query(ExpenseQueryRequest request) {
+        String userId = securityUtils.getCurrentUserId();
+        String sortField = request.getSort() == null ? "date" : request.getSort().toLowerCase(Locale.ROOT);
+        if (!sortField.equals("date") && !sortField.equals("amount")) {
+            throw new BadRequestException("Unsupported sort field: " + request.getSort() + " (expected date or amount)");
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(request.getDirection())
+                .orElseThrow(() -> new BadRequestException("Unsupported sort direction: " + request.getDirection()));
+        Pageable pageable = pageable(request, Sort.by(direction, sortField, "id"));
+
+        List<String> categories = request.getCategories() == null ? List.of() : request.getCategories().stream()
+                .filter(category -> category != null && !category.isBlank())
+                .distinct()
+                .toList();
+        if (categories.size() > MAX_CATEGORIES) {
+            throw new BadRequestException("At most " + MAX_CATEGORIES + " categories can be combined");
+        }
+
+        Query query = new Query(buildCriteria(userId, categories, request));
+        // The category index only helps a date-ordered walk; amount order has its own index
+        String index = sortField.equals("amount") ? AMOUNT_INDEX
+                : categories.isEmpty() ? DATE_INDEX : CATEGORY_DATE_INDEX;
+        query.withHint(index);
+        query.maxTimeMsec(maxTimeMs);
+        log.info("Querying expenses for user: {} using {}", userId, index);
+
+        try {
+            List<Expense> expenses = mongoTemplate.find(Query.of(query).with(pageable), Expense.class);
+            return PageableExecutionUtils.getPage(expenseMapper.toDtoList(expenses), pageable,
+                    () -> mongoTemplate.count(query, Expense.class));
+        } catch (DataAccessException ex) {
+            if (ex.getCause() instanceof MongoExecutionTimeoutException) {
+                throw new BadRequestException("Query is too broad, narrow it with a date range, category or amount filter");
+            }
+            throw ex;
+        }
+    }
+
+    private Criteria buildCriteria(String userId, List<String> categories, ExpenseQueryRequest request) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        List<Criteria> filters = new ArrayList<>();
+
+        if (!categories.isEmpty()) {
+            criteria = criteria.and("category").in(categories);
+        }
+        if (request.getFrom() != null || request.getTo() != null) {
+            if (request.getFrom() != null && request.getTo() != null && request.getFrom().isAfter(request.getTo())) {
+                throw new BadRequestException("'from' must not be after 'to'");
+            }
+            Criteria date = Criteria.where("date");
+            if (request.getFrom() != null) {
+                date = date.gte(request.getFrom());
+            }
+            if (request.getTo() != null) {
+                date = date.lte(request.getTo());
+            }
+            filters.add(date);
+        }
+        if (request.getMinAmount() != null || request.getMaxAmount() != null) {
+            if (request.getMinAmount() != null && request.getMaxAmount() != null
+                    && request.getMinAmount().compareTo(request.getMaxAmount()) > 0) {
+                throw new BadRequestException("'minAmount' must not be greater than 'maxAmount'");
+            }
+            Criteria amount = Criteria.where("amount");
+            if (request.getMinAmount() != null) {
+                amount = amount.gte(request.getMinAmount());
+            }
+            if (request.getMaxAmount() != null) {
+                amount = amount.lte(request.getMaxAmount());
+            }
+            filters.add(amount);
+        }
+        if (request.getHasNotes() != null) {
+            filters.add(presence("notes", request.getHasNotes()));
+        }
+        if (request.getHasBillPhoto() != null) {
+            filters.add(presence("billPhoto", request.getHasBillPhoto()));
+        }
+
+        return filters.isEmpty() ? criteria : criteria.andOperator(filters);
+    }
+
+    /**
+     * Missing, null and empty strings all count as absent.
+     */
+    private static Criteria presence(String field, boolean present) {
+        List<Object> absent = Arrays.asList(null, "");
+        return present ? Criteria.where(field).nin(absent) : Criteria.where(field).in(absent);
+    }
+
+    private Pageable pageable(ExpenseQueryRequest request, Sort sort) {
+        int page = request.getPage() == null ? 0 : Math.max(request.getPage(), 0);
+        int size = request.getSize() == null ? Constants.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(request.getSize(), Constants.MAX_PAGE_SIZE));
+        if ((long) page * size > maxOffset) {
+            throw new BadRequestException("Pages beyond the first " + maxOffset + " results are not available, narrow the query instead");
+        }
+        return PageRequest.of(page, size, sort);
+    }
+}
@@ -0,0 +1,155 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.dto.ExpenseDto;
+import com.financetracker.entity.Expense;
+import com.financetracker.exception.BadRequestException;
+import com.financetracker.mapper.ExpenseMapper;
+import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.ExpenseSearchService;
+import com.financetracker.util.Constants;
+import com.financetracker.util.SearchTokenizer;
+import com.mongodb.MongoExecutionTimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.regex.Pattern;
+
+/**
+ * Searches description and notes through the per-expense searchTerms array. Every query term
+ * must be a prefix of some stored term (an anchored regex, so user_search_terms_idx bounds the
+ * scan); matches are ranked by whole-term hits and phrase hits in the description, then recency.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseSearchServiceImpl implements ExpenseSearchService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ExpenseMapper expenseMapper;
+    private final SecurityUtils securityUtils;
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    @Value("${expense.search.max-time-ms:2000}")
+    private long maxTimeMs;
+
+    @Value("${expense.search.max-offset:10000}")
+    private int maxOffset;
+
+    @Override
+    public Page<ExpenseDto> search(String query, LocalDate from, LocalDate to, String category, int page, int size) {
+        if (query == null || query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        List<String> terms = SearchTokenizer.tokenize(SearchTokenizer.MAX_QUERY_TERMS, query);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search query must contain at least one word of two or more characters");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.max(1, Math.min(size, Constants.MAX_PAGE_SIZE));
+        if ((long) pageNumber * pageSize > maxOffset) {
+            throw new BadRequestException("Pages beyond the first " + maxOffset + " results are not available, narrow the search instead");
+        }
+        String userId = securityUtils.getCurrentUserId();
+        log.info("Searching expenses for user: {} ({} terms)", userId, terms.size());
+
+        Criteria criteria = Criteria.where("userId").is(userId)
+                .and("searchTerms").all(terms.stream().map(term -> Pattern.compile("^" + term)).toArray());
+        if (category != null && !category.isBlank()) {
+            criteria = criteria.and("category").is(category);
+        }
+        if (from != null || to != null) {
+            Criteria date = Criteria.where("date");
+            if (from != null) {
+                date = date.gte(from);
+            }
+            if (to != null) {
+                date = date.lte(to);
+            }
+            criteria = criteria.andOperator(date);
+        }
+
+        // Rank and sort only (_id, date, score) rows; full documents are read for the one page shown
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                rankStage(terms, query.trim()),
+                context -> new Document("$facet", new Document()
+                        .append("results", List.of(
+                                new Document("$sort", new Document("score", -1).append("date", -1).append("_id", -1)),
+                                new Document("$skip", (long) pageNumber * pageSize),
+                                new Document("$limit", pageSize)))
+                        .append("total", List.of(new Document("$count", "count")))))
+                .withOptions(AggregationOptions.builder().maxTime(Duration.ofMillis(maxTimeMs)).build());
+
+        Document result;
+        List<Expense> expenses;
+        try {
+            result = mongoTemplate.aggregate(aggregation, "expenses", Document.class).getUniqueMappedResult();
+            List<Object> ids = result == null ? List.of() : result.getList("results", Document.class).stream()
+                    .map(row -> row.get("_id"))
+                    .toList();
+            expenses = ids.isEmpty() ? List.of() : loadInOrder(userId, ids);
+        } catch (DataAccessException ex) {
+            if (ex.getCause() instanceof MongoExecutionTimeoutException) {
+                throw new BadRequestException("Search is too broad, use a longer word or add a date range or category");
+            }
+            throw ex;
+        }
+        List<ExpenseDto> content = expenseMapper.toDtoList(expenses);
+        List<Document> total = result == null ? List.of() : result.getList("total", Document.class);
+        long totalElements = total.isEmpty() ? 0 : ((Number) total.get(0).get("count")).longValue();
+
+        return new PageImpl<>(content, PageRequest.of(pageNumber, pageSize), totalElements);
+    }
+
+    private List<Expense> loadInOrder(String userId, List<Object> ids) {
+        Query page = Query.query(Criteria.where("_id").in(ids).and("userId").is(userId));
+        page.fields().exclude("searchTerms");
+        Map<String, Expense> byId = mongoTemplate.find(page, Expense.class).stream()
+                .collect(Collectors.toMap(Expense::getId, Function.identity()));
+        // An expense deleted between the two reads is simply left out of the page
+        return ids.stream()
+                .map(id -> byId.get(id.toString()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * score = whole-word matches + 2 if the description contains the query as typed.
+     */
+    private static AggregationOperation rankStage(List<String> terms, String phrase) {
+        Document exactHits = new Document("$size", new Document("$setIntersection",
+                List.of(new Document("$ifNull", List.of("$searchTerms", List.of())), terms)));
+        Document phraseHit = new Document("$cond", List.of(
+                new Document("$regexMatch", new Document("input", new Document("$ifNull", List.of("$description", "")))
+                        .append("regex", Pattern.quote(phrase))
+                        .append("options", "i")),
+                2,
+                0));
+        return context -> new Document("$project", new Document("date", 1)
+                .append("score", new Document("$add", List.of(exactHits, phraseHit))));
+    }
+}
@@ -0,0 +1,21 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.Expense;
+import com.financetracker.util.SearchTokenizer;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps Expense.searchTerms in step with the description and notes on every entity write,
+ * including repository saves and bulk inserts.
+ */
+@Component
+public class ExpenseSearchTermsListener extends AbstractMongoEventListener<Expense> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Expense> event) {
+        Expense expense = event.getSource();
+        expense.setSearchTerms(SearchTokenizer.tokenize(expense.getDescription(), expense.getNotes()));
+    }
+}
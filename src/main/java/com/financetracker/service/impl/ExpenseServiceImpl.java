@@ -1,25 +1,61 @@
 package com.financetracker.service.impl;
 
+import com.financetracker.dto.CategoryBreakdownDto;
+import com.financetracker.dto.BulkExpenseOperation;
+import com.financetracker.dto.BulkExpenseRequest;
+import com.financetracker.dto.BulkExpenseResponseDto;
+import com.financetracker.dto.BulkExpenseResultDto;
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.ExpenseDto;
 import com.financetracker.dto.MonthlyExpenseStatsDto;
 import com.financetracker.entity.Expense;
+import com.financetracker.entity.UserDataVersion;
+import com.financetracker.exception.BadRequestException;
 import com.financetracker.exception.ResourceNotFoundException;
 import com.financetracker.mapper.ExpenseMapper;
 import com.financetracker.repository.ExpenseRepository;
 import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.CategoryRegistryService;
+import com.financetracker.service.DataVersionService;
 import com.financetracker.service.ExpenseService;
+import com.financetracker.service.MonthlyRollupService;
+import com.financetracker.util.Constants;
+import com.financetracker.util.CappedList;
+import com.financetracker.util.KeysetPagination;
+import com.financetracker.util.PageCursor;
+import com.financetracker.util.SearchTokenizer;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -31,11 +67,23 @@ public class ExpenseServiceImpl implements ExpenseService {
     private final ExpenseMapper expenseMapper;
     private final SecurityUtils securityUtils;
     private final com.financetracker.service.FileStorageService fileStorageService;
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final CategoryRegistryService categoryRegistryService;
+    private final DataVersionService dataVersionService;
+    private final MonthlyRollupService monthlyRollupService;
 
-    private static final List<String> DEFAULT_CATEGORIES = Arrays.asList(
-            "Food & Dining", "Transportation", "Shopping", "Entertainment",
-            "Bills & Utilities", "Healthcare", "Education", "Travel", "Other"
-    );
+    @Value("${expense.bulk.max-operations:500}")
+    private int maxBulkOperations;
+
+    @Value("${pagination.max-list-results:1000}")
+    private int maxListResults;
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+    private static final String DATE_INDEX = "user_date_id_idx";
+    private static final String CATEGORY_DATE_INDEX = "user_category_date_id_idx";
+    // Free-text fields only detail views need; list pages leave them out unless asked
+    private static final String[] DETAIL_FIELDS = {"description", "notes", "billPhoto"};
 
 
     @Override
@@ -47,6 +95,9 @@ public class ExpenseServiceImpl implements ExpenseService {
         expense.setUserId(userId);
 
         Expense savedExpense = expenseRepository.save(expense);
+        categoryRegistryService.categoryChanged(userId, null, savedExpense.getCategory());
+        monthlyRollupService.recordChange(userId, null, savedExpense);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.EXPENSES);
         log.info("Expense created with ID: {}", savedExpense.getId());
 
         return expenseMapper.toDto(savedExpense);
@@ -66,6 +117,9 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
 
         Expense savedExpense = expenseRepository.save(expense);
+        categoryRegistryService.categoryChanged(userId, null, savedExpense.getCategory());
+        monthlyRollupService.recordChange(userId, null, savedExpense);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.EXPENSES);
         log.info("Expense created with ID: {} and bill photo: {}", savedExpense.getId(), savedExpense.getBillPhoto());
 
         return expenseMapper.toDto(savedExpense);
@@ -93,21 +147,270 @@ public class ExpenseServiceImpl implements ExpenseService {
     }
 
     @Override
-    public List<ExpenseDto> getExpensesByCategory(String category) {
+    public CursorPageDto<ExpenseDto> getExpensesPage(String cursor, int size, boolean includeTotal, boolean details) {
+        String userId = securityUtils.getCurrentUserId();
+        log.info("Fetching expense page for user: {} (cursor: {})", userId, cursor != null && !cursor.isBlank());
+
+        Long total = includeTotal ? expenseRepository.countByUserId(userId) : null;
+        return expensePage(Criteria.where("userId").is(userId), DATE_INDEX, cursor, size, details, total);
+    }
+
+    @Override
+    public List<ExpenseDto> getExpensesByIds(List<String> ids) {
+        String userId = securityUtils.getCurrentUserId();
+        List<String> distinctIds = ids.stream().filter(id -> id != null && !id.isBlank()).distinct().toList();
+        if (distinctIds.size() > Constants.MAX_PAGE_SIZE) {
+            throw new BadRequestException("At most " + Constants.MAX_PAGE_SIZE + " ids can be requested at once");
+        }
+        log.info("Fetching {} expenses by id for user: {}", distinctIds.size(), userId);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Expense> found = new HashMap<>();
+        expenseRepository.findByIdInAndUserId(distinctIds, userId)
+                .forEach(expense -> found.put(expense.getId(), expense));
+        // Keep the caller's order; ids that are missing or not theirs are left out
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(expenseMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public BulkExpenseResponseDto bulkWrite(BulkExpenseRequest request) {
+        String userId = securityUtils.getCurrentUserId();
+        List<BulkExpenseOperation> operations = request.getOperations();
+        if (operations.size() > maxBulkOperations) {
+            throw new BadRequestException("At most " + maxBulkOperations + " operations are allowed per request");
+        }
+        log.info("Applying {} bulk expense operations for user: {}", operations.size(), userId);
+
+        // One $in query tells which referenced expenses belong to the caller
+        Set<String> referencedIds = operations.stream()
+                .filter(operation -> operation.getOp() != BulkExpenseOperation.Type.CREATE)
+                .map(BulkExpenseOperation::getId)
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toSet());
+        // Date, amount and category of each live expense, kept up to date as operations are queued
+        Map<String, Expense> liveExpenses = new HashMap<>();
+        if (!referencedIds.isEmpty()) {
+            expenseRepository.findOwnedSnapshots(referencedIds, userId)
+                    .forEach(expense -> liveExpenses.put(expense.getId(), expense));
+        }
+
+        // Ordered, so replayed offline edits are applied in the sequence they were made
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Expense.class);
+        BulkExpenseResultDto[] results = new BulkExpenseResultDto[operations.size()];
+        Expense[] previousStates = new Expense[operations.size()];
+        Expense[] currentStates = new Expense[operations.size()];
+        List<Integer> queued = new ArrayList<>();
+        for (int index = 0; index < operations.size(); index++) {
+            BulkExpenseOperation operation = operations.get(index);
+            BulkExpenseResultDto result = BulkExpenseResultDto.builder()
+                    .index(index)
+                    .op(operation.getOp())
+                    .id(operation.getId())
+                    .build();
+            results[index] = result;
+
+            String problem = validateBulkOperation(operation);
+            if (problem != null) {
+                result.setStatus(BulkExpenseResultDto.Status.INVALID);
+                result.setMessage(problem);
+                continue;
+            }
+            if (operation.getOp() != BulkExpenseOperation.Type.CREATE && !liveExpenses.containsKey(operation.getId())) {
+                result.setStatus(BulkExpenseResultDto.Status.NOT_FOUND);
+                result.setMessage("Expense not found with id: '" + operation.getId() + "'");
+                continue;
+            }
+
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    Expense expense = expenseMapper.toEntity(operation.getExpense());
+                    // Assign the id up front so it can be returned without reading the document back
+                    expense.setId(new ObjectId().toHexString());
+                    expense.setUserId(userId);
+                    expense.setBillPhoto(null);
+                    expense.setCreatedAt(null);
+                    expense.setUpdatedAt(null);
+                    bulk.insert(expense);
+                    currentStates[index] = expense;
+                    result.setId(expense.getId());
+                    result.setStatus(BulkExpenseResultDto.Status.CREATED);
+                }
+                case UPDATE -> {
+                    ExpenseDto changes = operation.getExpense();
+                    bulk.updateOne(ownedExpenseQuery(operation.getId(), userId), new Update()
+                            .set("amount", changes.getAmount())
+                            .set("description", changes.getDescription())
+                            .set("category", changes.getCategory())
+                            .set("date", changes.getDate())
+                            .set("notes", changes.getNotes())
+                            .set("searchTerms", SearchTokenizer.tokenize(changes.getDescription(), changes.getNotes()))
+                            .set("updatedAt", LocalDateTime.now()));
+                    currentStates[index] = Expense.builder()
+                            .date(changes.getDate())
+                            .amount(changes.getAmount())
+                            .category(changes.getCategory())
+                            .build();
+                    previousStates[index] = liveExpenses.put(operation.getId(), currentStates[index]);
+                    result.setStatus(BulkExpenseResultDto.Status.UPDATED);
+                }
+                case DELETE -> {
+                    bulk.remove(ownedExpenseQuery(operation.getId(), userId));
+                    previousStates[index] = liveExpenses.remove(operation.getId());
+                    result.setStatus(BulkExpenseResultDto.Status.DELETED);
+                }
+            }
+            queued.add(index);
+        }
+
+        if (!queued.isEmpty()) {
+            try {
+                bulk.execute();
+            } catch (BulkOperationException ex) {
+                // An ordered bulk write stops at the first error; nothing after it was applied
+                BulkWriteError error = ex.getErrors().get(0);
+                for (int position = error.getIndex(); position < queued.size(); position++) {
+                    BulkExpenseResultDto result = results[queued.get(position)];
+                    result.setStatus(BulkExpenseResultDto.Status.FAILED);
+                    result.setMessage(position == error.getIndex()
+                            ? error.getMessage()
+                            : "Not applied because an earlier operation failed");
+                }
+            }
+        }
+
+        List<Expense> removed = new ArrayList<>();
+        List<Expense> added = new ArrayList<>();
+        Map<String, Long> categoryDeltas = new HashMap<>();
+        for (int index : queued) {
+            if (results[index].getStatus() != BulkExpenseResultDto.Status.FAILED) {
+                if (previousStates[index] != null) {
+                    removed.add(previousStates[index]);
+                    categoryDeltas.merge(previousStates[index].getCategory(), -1L, Long::sum);
+                }
+                if (currentStates[index] != null) {
+                    added.add(currentStates[index]);
+                    categoryDeltas.merge(currentStates[index].getCategory(), 1L, Long::sum);
+                }
+            }
+        }
+        categoryRegistryService.adjust(userId, categoryDeltas);
+        monthlyRollupService.recordChanges(userId, removed, added);
+
+        List<BulkExpenseResultDto> resultList = Arrays.asList(results);
+        int succeeded = (int) resultList.stream().filter(result -> switch (result.getStatus()) {
+            case CREATED, UPDATED, DELETED -> true;
+            default -> false;
+        }).count();
+        if (succeeded > 0) {
+            dataVersionService.bump(userId, UserDataVersion.Dataset.EXPENSES);
+        }
+        log.info("Bulk expense operations for user {}: {} succeeded, {} failed",
+                userId, succeeded, operations.size() - succeeded);
+
+        return BulkExpenseResponseDto.builder()
+                .succeeded(succeeded)
+                .failed(operations.size() - succeeded)
+                .results(resultList)
+                .build();
+    }
+
+    private static Expense snapshot(Expense expense) {
+        return Expense.builder()
+                .date(expense.getDate())
+                .amount(expense.getAmount())
+                .category(expense.getCategory())
+                .build();
+    }
+
+    private String validateBulkOperation(BulkExpenseOperation operation) {
+        if (operation.getOp() != BulkExpenseOperation.Type.CREATE
+                && (operation.getId() == null || operation.getId().isBlank())) {
+            return "Id is required for " + operation.getOp();
+        }
+        if (operation.getOp() == BulkExpenseOperation.Type.DELETE) {
+            return null;
+        }
+        if (operation.getExpense() == null) {
+            return "Expense is required for " + operation.getOp();
+        }
+        Set<ConstraintViolation<ExpenseDto>> violations = validator.validate(operation.getExpense());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Query ownedExpenseQuery(String id, String userId) {
+        return new Query(Criteria.where("id").is(id).and("userId").is(userId));
+    }
+
+    @Override
+    public CappedList<ExpenseDto> getExpensesByCategory(String category) {
         String userId = securityUtils.getCurrentUserId();
         log.info("Fetching expenses by category {} for user: {}", category, userId);
 
-        List<Expense> expenses = expenseRepository.findByUserIdAndCategory(userId, category);
-        return expenseMapper.toDtoList(expenses);
+        CappedList<Expense> expenses = CappedList.of(expenseRepository.findByUserIdAndCategory(
+                userId, category, KEYSET_SORT, Limit.of(maxListResults + 1)), maxListResults);
+        warnIfCapped(expenses, "category");
+        return expenses.map(expenseMapper::toDtoList);
     }
 
     @Override
-    public List<ExpenseDto> getExpensesByDateRange(LocalDate startDate, LocalDate endDate) {
+    public CappedList<ExpenseDto> getExpensesByDateRange(LocalDate startDate, LocalDate endDate) {
         String userId = securityUtils.getCurrentUserId();
         log.info("Fetching expenses from {} to {} for user: {}", startDate, endDate, userId);
 
-        List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
-        return expenseMapper.toDtoList(expenses);
+        CappedList<Expense> expenses = CappedList.of(expenseRepository.findByUserIdAndDateBetween(
+                userId, startDate, endDate, KEYSET_SORT, Limit.of(maxListResults + 1)), maxListResults);
+        warnIfCapped(expenses, "date range");
+        return expenses.map(expenseMapper::toDtoList);
+    }
+
+    @Override
+    public CursorPageDto<ExpenseDto> getExpensesByCategoryPage(String category, String cursor, int size, boolean details) {
+        String userId = securityUtils.getCurrentUserId();
+        log.info("Fetching expense page by category {} for user: {}", category, userId);
+
+        Criteria criteria = Criteria.where("userId").is(userId).and("category").is(category);
+        return expensePage(criteria, CATEGORY_DATE_INDEX, cursor, size, details, null);
+    }
+
+    @Override
+    public CursorPageDto<ExpenseDto> getExpensesByDateRangePage(LocalDate startDate, LocalDate endDate,
+                                                                String cursor, int size, boolean details) {
+        String userId = securityUtils.getCurrentUserId();
+        log.info("Fetching expense page from {} to {} for user: {}", startDate, endDate, userId);
+
+        Criteria criteria = Criteria.where("userId").is(userId).and("date").gte(startDate).lte(endDate);
+        return expensePage(criteria, DATE_INDEX, cursor, size, details, null);
+    }
+
+    private CursorPageDto<ExpenseDto> expensePage(Criteria criteria, String index, String cursor,
+                                                  int size, boolean details, Long total) {
+        Query query = new Query(KeysetPagination.afterDateAndId(criteria, cursor))
+                .with(KEYSET_SORT)
+                .withHint(index);
+        query.fields().exclude("searchTerms");
+        if (!details) {
+            query.fields().exclude(DETAIL_FIELDS);
+        }
+        return KeysetPagination.fetch(mongoTemplate, query, KeysetPagination.pageSize(size), Expense.class,
+                expenseMapper::toDtoList, last -> new PageCursor(last.getDate(), last.getId()), total);
+    }
+
+    private void warnIfCapped(CappedList<Expense> expenses, String listName) {
+        if (expenses.truncated()) {
+            log.warn("Expense {} list truncated at {} rows; clients should page with a cursor", listName, maxListResults);
+        }
     }
 
     @Override
@@ -119,8 +422,12 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .filter(e -> e.getUserId().equals(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", id));
 
+        Expense previous = snapshot(expense);
         expenseMapper.updateEntity(expenseDto, expense);
         Expense updatedExpense = expenseRepository.save(expense);
+        categoryRegistryService.categoryChanged(userId, previous.getCategory(), updatedExpense.getCategory());
+        monthlyRollupService.recordChange(userId, previous, updatedExpense);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.EXPENSES);
         log.info("Expense {} updated successfully", id);
 
         return expenseMapper.toDto(updatedExpense);
@@ -136,6 +443,9 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Expense", "id", id));
 
         expenseRepository.delete(expense);
+        categoryRegistryService.categoryChanged(userId, expense.getCategory(), null);
+        monthlyRollupService.recordChange(userId, expense, null);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.EXPENSES);
         log.info("Expense {} deleted successfully", id);
     }
 
@@ -154,27 +464,45 @@ public class ExpenseServiceImpl implements ExpenseService {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
-        List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
-
-        BigDecimal totalAmount = expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int totalTransactions = expenses.size();
+        // Totals and the ranked category breakdown come back from a single $facet aggregation
+        ExpenseRepository.MonthlyStats stats =
+                expenseRepository.getMonthlyStatsByUserIdAndDateBetween(userId, startDate, endDate);
+
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        int totalTransactions = 0;
+        BigDecimal averageAmount = BigDecimal.ZERO;
+        if (stats != null && !stats.totals().isEmpty()) {
+            ExpenseRepository.Totals totals = stats.totals().get(0);
+            totalAmount = totals.total() != null ? totals.total() : BigDecimal.ZERO;
+            totalTransactions = totals.count() != null ? totals.count() : 0;
+            averageAmount = totals.average() != null
+                    ? totals.average().setScale(2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+        }
 
-        BigDecimal averageAmount = totalTransactions > 0
-                ? totalAmount.divide(BigDecimal.valueOf(totalTransactions), 2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+        List<ExpenseRepository.CategoryTotal> categories = stats != null ? stats.categories() : List.of();
+        BigDecimal monthTotal = totalAmount;
+        List<CategoryBreakdownDto> categoryBreakdown = categories.stream()
+                .map(category -> {
+                    BigDecimal amount = category.total() != null ? category.total() : BigDecimal.ZERO;
+                    BigDecimal percentage = monthTotal.compareTo(BigDecimal.ZERO) > 0
+                            ? amount.multiply(BigDecimal.valueOf(100)).divide(monthTotal, 2, RoundingMode.HALF_UP)
+                            : BigDecimal.ZERO;
+                    return CategoryBreakdownDto.builder()
+                            .category(category.id() != null ? category.id() : "Unknown")
+                            .amount(amount)
+                            .count(category.count() != null ? category.count() : 0)
+                            .percentage(percentage)
+                            .build();
+                })
+                .toList();
 
         // Find top category
         String topCategory = null;
         BigDecimal topCategoryAmount = BigDecimal.ZERO;
-
-        var categoryStats = expenseRepository.getCategoryStatsByUserIdAndDateBetween(userId, startDate, endDate);
-        if (!categoryStats.isEmpty()) {
-            var top = categoryStats.get(0);
-            topCategory = top.get_id();
-            topCategoryAmount = BigDecimal.valueOf(top.getTotal());
+        if (!categoryBreakdown.isEmpty()) {
+            topCategory = categoryBreakdown.get(0).getCategory();
+            topCategoryAmount = categoryBreakdown.get(0).getAmount();
         }
 
         return MonthlyExpenseStatsDto.builder()
@@ -185,6 +513,7 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .averageAmount(averageAmount)
                 .topCategory(topCategory)
                 .topCategoryAmount(topCategoryAmount)
+                .categoryBreakdown(categoryBreakdown)
                 .build();
     }
 
@@ -193,15 +522,6 @@ public class ExpenseServiceImpl implements ExpenseService {
         String userId = securityUtils.getCurrentUserId();
         log.info("Fetching categories for user: {}", userId);
 
-        List<String> userCategories = expenseRepository.findDistinctCategoriesByUserId(userId);
-
-        // Combine with default categories
-        for (String defaultCategory : DEFAULT_CATEGORIES) {
-            if (!userCategories.contains(defaultCategory)) {
-                userCategories.add(defaultCategory);
-            }
-        }
-
-        return userCategories;
+        return categoryRegistryService.getCategories(userId);
     }
 }
@@ -0,0 +1,420 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.config.MoneyDecimalMigration;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reconciles user_monthly_rollups with the expenses, repairing any drift in the incremental
+ * counters. One aggregation recounts every (user, month, category) and is walked user by user
+ * against the stored rollups; only the ones that differ are rewritten. Live $inc writes keep
+ * running meanwhile, so a differing rollup is recounted on its own and written only if its
+ * updatedAt is unchanged, and rollups incremented after this run wrote them are rechecked a few
+ * times before it finishes. An increment landing after the last recheck for an expense the
+ * recount already saw can still double count until the next run. It runs once on first start to
+ * seed the collection, then on a schedule, and a lease keeps concurrent instances from running it
+ * at the same time. Until MoneyDecimalMigration has finished it does not run at all, since $sum
+ * counts amounts still stored as strings as zero.
+ */
+@Slf4j
+@Component
+public class MonthlyRollupReconciler {
+
+    private static final String JOB_ID = "monthly-rollups";
+    private static final String MIGRATIONS_COLLECTION = "schema_migrations";
+    private static final String LEASES_COLLECTION = "job_leases";
+    private static final String ROLLUPS_COLLECTION = "user_monthly_rollups";
+    private static final int REPAIR_ATTEMPTS = 3;
+    private static final int RECHECK_ROUNDS = 3;
+    private static final Duration RECHECK_DELAY = Duration.ofSeconds(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final Timer reconcileTimer;
+
+    @Value("${rollups.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rollups.reconcile.lease-minutes:30}")
+    private long leaseMinutes;
+
+    @Value("${mongo.money-migration.enabled:true}")
+    private boolean moneyMigrationEnabled;
+
+    public MonthlyRollupReconciler(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.reconcileTimer = Timer.builder("rollups.reconcile")
+                .description("Time to rebuild the monthly rollups from expenses")
+                .register(meterRegistry);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (mongoTemplate.getCollection(MIGRATIONS_COLLECTION).find(Filters.eq("_id", JOB_ID)).first() == null) {
+                reconcile();
+            }
+        } catch (Exception ex) {
+            log.error("Monthly rollup seeding did not run and will be retried on next start: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${rollups.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (moneyMigrationPending()) {
+                log.warn("Monthly rollup reconciliation skipped until the money migration to Decimal128 has finished");
+                return;
+            }
+            if (!acquireLease()) {
+                log.info("Monthly rollup reconciliation already running elsewhere, skipping");
+                return;
+            }
+            try {
+                reconcileTimer.record(this::rebuild);
+            } finally {
+                releaseLease();
+            }
+        } catch (Exception ex) {
+            log.error("Monthly rollup reconciliation failed", ex);
+        }
+    }
+
+    private void rebuild() {
+        Date runStart = new Date();
+        int repaired;
+        try (UserCursor computed = new UserCursor(computedRollups());
+             UserCursor stored = new UserCursor(rollups().find(Filters.type("userId", "string"))
+                     .projection(Projections.include("userId", "month", "category", "total", "count"))
+                     .sort(Sorts.ascending("userId"))
+                     .iterator())) {
+            repaired = reconcileAll(computed, stored);
+        }
+        repaired += recheckTouched(runStart);
+
+        mongoTemplate.getCollection(MIGRATIONS_COLLECTION).updateOne(
+                Filters.eq("_id", JOB_ID),
+                Updates.combine(Updates.set("completedAt", new Date()),
+                        Updates.set("documents", rollups().countDocuments())),
+                new UpdateOptions().upsert(true));
+        log.info("Monthly rollups reconciled with expenses, {} rollups repaired", repaired);
+    }
+
+    /**
+     * Every (user, month, category) total computed from the expenses, sorted by user so it can be
+     * walked alongside the stored rollups.
+     */
+    private MongoCursor<Document> computedRollups() {
+        // Dates are LocalDates stored as local midnight, so months are cut in the server's zone
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("date", new Document("$type", "date"))
+                        .append("userId", new Document("$type", "string"))),
+                new Document("$group", new Document("_id", new Document("userId", "$userId")
+                        .append("month", new Document("$dateToString", new Document("format", "%Y-%m")
+                                .append("date", "$date")
+                                .append("timezone", ZoneId.systemDefault().getId())))
+                        .append("category", "$category"))
+                        .append("total", new Document("$sum", "$amount"))
+                        .append("count", new Document("$sum", 1))),
+                new Document("$sort", new Document("_id.userId", 1)),
+                new Document("$project", new Document("_id", 0)
+                        .append("userId", "$_id.userId")
+                        .append("month", "$_id.month")
+                        .append("category", "$_id.category")
+                        .append("total", 1)
+                        .append("count", 1)));
+        return mongoTemplate.getCollection("expenses").aggregate(pipeline).allowDiskUse(true).iterator();
+    }
+
+    /**
+     * Walks both cursors in userId order and reconciles each user seen on either side.
+     */
+    int reconcileAll(UserCursor computed, UserCursor stored) {
+        int repaired = 0;
+        while (computed.hasNext() || stored.hasNext()) {
+            String userId = first(computed.peekUserId(), stored.peekUserId());
+            repaired += reconcileUser(computed.take(userId), stored.take(userId));
+        }
+        return repaired;
+    }
+
+    int reconcileUser(Map<Key, Totals> expected, Map<Key, Totals> actual) {
+        Set<Key> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        int repaired = 0;
+        for (Key key : keys) {
+            Totals want = expected.getOrDefault(key, Totals.NONE);
+            Totals have = actual.get(key);
+            if (have == null) {
+                // An $inc that lands after this insert is caught by the recheck
+                if (!insert(key, want)) {
+                    repair(key);
+                }
+                repaired++;
+            } else if (!have.sameAs(want)) {
+                repair(key);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * Recomputes one rollup and writes it only if no $inc touched it since it was read. The rollup
+     * is read before the expenses, so an increment for an expense the recount missed always lands
+     * after the read and makes the conditional write miss, and the key is retried.
+     */
+    boolean repair(Key key) {
+        MongoCollection<Document> rollups = rollups();
+        for (int attempt = 0; attempt < REPAIR_ATTEMPTS; attempt++) {
+            Document current = rollups.find(key.filter()).first();
+            Totals exact = countExpenses(key);
+            if (current == null) {
+                if (exact.count() == 0 || insert(key, exact)) {
+                    return true;
+                }
+                continue;
+            }
+            Bson unchanged = Filters.and(key.filter(), Filters.eq("updatedAt", current.get("updatedAt")));
+            boolean written = exact.count() == 0
+                    ? rollups.deleteOne(unchanged).getDeletedCount() > 0
+                    : rollups.updateOne(unchanged, stamped(exact, new Date())).getMatchedCount() > 0;
+            if (written) {
+                return true;
+            }
+        }
+        log.warn("Monthly rollup {} {} of user {} kept changing during reconciliation, leaving it to the next run",
+                key.month(), key.category(), key.userId());
+        return false;
+    }
+
+    /**
+     * Re-repairs rollups this run wrote that were incremented afterwards. The increment may belong
+     * to an expense the recount already included, which would now be counted twice. A rollup
+     * written by this run keeps updatedAt equal to reconciledAt until the next $inc.
+     */
+    int recheckTouched(Date runStart) {
+        int repaired = 0;
+        for (int round = 0; round < RECHECK_ROUNDS; round++) {
+            try {
+                // Lets increments for expenses saved just before the last repairs land first
+                Thread.sleep(RECHECK_DELAY.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return repaired;
+            }
+            List<Key> touched = rollups().find(Filters.and(
+                            Filters.gte("reconciledAt", runStart),
+                            Filters.expr(new Document("$ne", List.of("$updatedAt", "$reconciledAt")))))
+                    .projection(Projections.include("userId", "month", "category"))
+                    .map(Key::of)
+                    .into(new ArrayList<>());
+            if (touched.isEmpty()) {
+                break;
+            }
+            touched.forEach(this::repair);
+            repaired += touched.size();
+        }
+        return repaired;
+    }
+
+    private Totals countExpenses(Key key) {
+        YearMonth month = YearMonth.parse(key.month());
+        ZoneId zone = ZoneId.systemDefault();
+        Date from = Date.from(month.atDay(1).atStartOfDay(zone).toInstant());
+        Date to = Date.from(month.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant());
+        Document result = mongoTemplate.getCollection("expenses").aggregate(List.of(
+                new Document("$match", new Document("userId", key.userId())
+                        .append("category", key.category())
+                        .append("date", new Document("$gte", from).append("$lt", to))),
+                new Document("$group", new Document("_id", null)
+                        .append("total", new Document("$sum", "$amount"))
+                        .append("count", new Document("$sum", 1))))).first();
+        return result == null ? Totals.NONE : Totals.of(result);
+    }
+
+    boolean insert(Key key, Totals totals) {
+        Date now = new Date();
+        try {
+            rollups().insertOne(new Document("userId", key.userId())
+                    .append("month", key.month())
+                    .append("category", key.category())
+                    .append("total", new Decimal128(totals.total()))
+                    .append("count", totals.count())
+                    .append("updatedAt", now)
+                    .append("reconciledAt", now));
+            return true;
+        } catch (MongoServerException ex) {
+            if (ErrorCategory.fromErrorCode(ex.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    private static Bson stamped(Totals totals, Date now) {
+        return Updates.combine(
+                Updates.set("total", new Decimal128(totals.total())),
+                Updates.set("count", totals.count()),
+                Updates.set("updatedAt", now),
+                Updates.set("reconciledAt", now));
+    }
+
+    private MongoCollection<Document> rollups() {
+        return mongoTemplate.getCollection(ROLLUPS_COLLECTION);
+    }
+
+    static String first(String a, String b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private boolean moneyMigrationPending() {
+        return moneyMigrationEnabled && mongoTemplate.getCollection(MIGRATIONS_COLLECTION)
+                .find(Filters.eq("_id", MoneyDecimalMigration.MIGRATION_ID)).first() == null;
+    }
+
+    private boolean acquireLease() {
+        Date now = new Date();
+        Date leaseUntil = Date.from(now.toInstant().plus(Duration.ofMinutes(leaseMinutes)));
+        MongoCollection<Document> leases = mongoTemplate.getCollection(LEASES_COLLECTION);
+        try {
+            // Only an expired lease matches; a live one makes the upsert collide on _id
+            leases.findOneAndUpdate(
+                    Filters.and(Filters.eq("_id", JOB_ID), Filters.lt("leaseUntil", now)),
+                    Updates.set("leaseUntil", leaseUntil),
+                    new FindOneAndUpdateOptions().upsert(true));
+            return true;
+        } catch (MongoServerException ex) {
+            if (ErrorCategory.fromErrorCode(ex.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    private void releaseLease() {
+        mongoTemplate.getCollection(LEASES_COLLECTION)
+                .updateOne(Filters.eq("_id", JOB_ID), Updates.set("leaseUntil", new Date()));
+    }
+
+    record Key(String userId, String month, String category) {
+
+        static Key of(Document document) {
+            return new Key(document.getString("userId"), document.getString("month"), document.getString("category"));
+        }
+
+        Bson filter() {
+            return Filters.and(Filters.eq("userId", userId), Filters.eq("month", month), Filters.eq("category", category));
+        }
+    }
+
+    record Totals(BigDecimal total, long count) {
+
+        static final Totals NONE = new Totals(BigDecimal.ZERO, 0);
+
+        static Totals of(Document document) {
+            Object count = document.get("count");
+            return new Totals(toBigDecimal(document.get("total")), count instanceof Number number ? number.longValue() : 0);
+        }
+
+        boolean sameAs(Totals other) {
+            return count == other.count && total.compareTo(other.total) == 0;
+        }
+
+        private static BigDecimal toBigDecimal(Object value) {
+            try {
+                if (value instanceof Decimal128 decimal) {
+                    return decimal.bigDecimalValue();
+                }
+                if (value instanceof Number number) {
+                    return new BigDecimal(number.toString());
+                }
+            } catch (ArithmeticException | NumberFormatException ex) {
+                // NaN, infinity or negative zero; treat as nothing so the rollup gets rewritten
+            }
+            return BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Reads a cursor sorted by userId one user at a time.
+     */
+    static final class UserCursor implements AutoCloseable {
+
+        private final MongoCursor<Document> cursor;
+        private Document next;
+
+        UserCursor(MongoCursor<Document> cursor) {
+            this.cursor = cursor;
+            this.next = cursor.hasNext() ? cursor.next() : null;
+        }
+
+        boolean hasNext() {
+            return next != null;
+        }
+
+        String peekUserId() {
+            return next != null ? next.getString("userId") : null;
+        }
+
+        Map<Key, Totals> take(String userId) {
+            Map<Key, Totals> rows = new HashMap<>();
+            while (next != null && userId.equals(next.getString("userId"))) {
+                rows.put(Key.of(next), Totals.of(next));
+                next = cursor.hasNext() ? cursor.next() : null;
+            }
+            return rows;
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.Expense;
+import com.financetracker.entity.MonthlyRollup;
+import com.financetracker.repository.MonthlyRollupRepository;
+import com.financetracker.service.MonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies expense writes to user_monthly_rollups as net $inc deltas per (month, category), so
+ * an edit that only touches the description costs nothing and a batch costs one bulk write.
+ * Rollup writes happen after the expense write and never fail it; anything missed here is
+ * repaired by MonthlyRollupReconciler.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupServiceImpl implements MonthlyRollupService {
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void recordChange(String userId, Expense previous, Expense current) {
+        recordChanges(userId,
+                previous == null ? List.of() : List.of(previous),
+                current == null ? List.of() : List.of(current));
+    }
+
+    @Override
+    public void recordChanges(String userId, List<Expense> removed, List<Expense> added) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        removed.forEach(expense -> accumulate(deltas, expense, -1));
+        added.forEach(expense -> accumulate(deltas, expense, 1));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MonthlyRollup.class);
+        Set<String> decrementedMonths = new LinkedHashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        int queued = 0;
+        for (Map.Entry<RollupKey, Delta> entry : deltas.entrySet()) {
+            Delta delta = entry.getValue();
+            if (delta.count == 0 && delta.total.signum() == 0) {
+                continue;
+            }
+            bulk.upsert(Query.query(Criteria.where("userId").is(userId)
+                            .and("month").is(entry.getKey().month())
+                            .and("category").is(entry.getKey().category())),
+                    new Update().inc("total", delta.total).inc("count", delta.count).set("updatedAt", now));
+            queued++;
+            if (delta.count < 0) {
+                decrementedMonths.add(entry.getKey().month());
+            }
+        }
+        if (queued == 0) {
+            return;
+        }
+
+        try {
+            bulk.execute();
+            if (!decrementedMonths.isEmpty()) {
+                mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId)
+                        .and("month").in(decrementedMonths)
+                        .and("count").lte(0)), MonthlyRollup.class);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not update monthly rollups for user {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    @Override
+    public BigDecimal getTotal(String userId) {
+        return sum(monthlyRollupRepository.findTotalsByUserId(userId));
+    }
+
+    @Override
+    public BigDecimal getMonthTotal(String userId, YearMonth month) {
+        return sum(getRollups(userId, month, month));
+    }
+
+    @Override
+    public List<MonthlyRollup> getRollups(String userId, YearMonth from, YearMonth to) {
+        return monthlyRollupRepository.findByUserIdAndMonthRange(userId, from.toString(), to.toString());
+    }
+
+    private static void accumulate(Map<RollupKey, Delta> deltas, Expense expense, int sign) {
+        if (expense.getDate() == null) {
+            return;
+        }
+        RollupKey key = new RollupKey(YearMonth.from(expense.getDate()).toString(), expense.getCategory());
+        Delta delta = deltas.computeIfAbsent(key, ignored -> new Delta());
+        BigDecimal amount = expense.getAmount() != null ? expense.getAmount() : BigDecimal.ZERO;
+        delta.total = delta.total.add(sign < 0 ? amount.negate() : amount);
+        delta.count += sign;
+    }
+
+    private static BigDecimal sum(List<MonthlyRollup> rollups) {
+        return rollups.stream()
+                .map(rollup -> rollup.getTotal() != null ? rollup.getTotal() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private record RollupKey(String month, String category) {
+    }
+
+    private static final class Delta {
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count;
+    }
+}
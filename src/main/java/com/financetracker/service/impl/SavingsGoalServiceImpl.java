@@ -1,17 +1,29 @@
 package com.financetracker.service.impl;
 
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.DepositRequest;
 import com.financetracker.dto.SavingsGoalDto;
 import com.financetracker.dto.SavingsProgressDto;
 import com.financetracker.entity.SavingsGoal;
+import com.financetracker.entity.UserDataVersion;
 import com.financetracker.exception.BadRequestException;
 import com.financetracker.exception.ResourceNotFoundException;
 import com.financetracker.mapper.SavingsGoalMapper;
 import com.financetracker.repository.SavingsGoalRepository;
 import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.DataVersionService;
 import com.financetracker.service.SavingsGoalService;
+import com.financetracker.util.CappedList;
+import com.financetracker.util.KeysetPagination;
+import com.financetracker.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -26,6 +38,14 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
     private final SavingsGoalRepository savingsGoalRepository;
     private final SavingsGoalMapper savingsGoalMapper;
     private final SecurityUtils securityUtils;
+    private final DataVersionService dataVersionService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${pagination.max-list-results:1000}")
+    private int maxListResults;
+
+    // ObjectIds grow with insertion time, so id order is creation order
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
 
     @Override
     public SavingsGoalDto createGoal(SavingsGoalDto goalDto) {
@@ -38,6 +58,7 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
         goal.setCompleted(false);
 
         SavingsGoal savedGoal = savingsGoalRepository.save(goal);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SAVINGS_GOALS);
         log.info("Savings goal created with ID: {}", savedGoal.getId());
 
         return savingsGoalMapper.toDto(savedGoal);
@@ -55,12 +76,30 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
     }
 
     @Override
-    public List<SavingsGoalDto> getAllGoals() {
+    public CappedList<SavingsGoalDto> getAllGoals() {
         String userId = securityUtils.getCurrentUserId();
         log.info("Fetching all savings goals for user: {}", userId);
 
-        List<SavingsGoal> goals = savingsGoalRepository.findByUserId(userId);
-        return savingsGoalMapper.toDtoList(goals);
+        CappedList<SavingsGoal> goals = CappedList.of(
+                savingsGoalRepository.findByUserId(userId, NEWEST_FIRST, Limit.of(maxListResults + 1)), maxListResults);
+        if (goals.truncated()) {
+            log.warn("Savings goal list truncated at {} rows; clients should page with a cursor", maxListResults);
+        }
+        return goals.map(savingsGoalMapper::toDtoList);
+    }
+
+    @Override
+    public CursorPageDto<SavingsGoalDto> getGoalsPage(String cursor, int size, boolean details) {
+        String userId = securityUtils.getCurrentUserId();
+        log.info("Fetching savings goal page for user: {}", userId);
+
+        Query query = new Query(KeysetPagination.afterId(Criteria.where("userId").is(userId), cursor))
+                .with(NEWEST_FIRST);
+        if (!details) {
+            query.fields().exclude("description");
+        }
+        return KeysetPagination.fetch(mongoTemplate, query, KeysetPagination.pageSize(size), SavingsGoal.class,
+                savingsGoalMapper::toDtoList, last -> new PageCursor(null, last.getId()), null);
     }
 
     @Override
@@ -73,6 +112,7 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
 
         savingsGoalMapper.updateEntity(goalDto, goal);
         SavingsGoal updatedGoal = savingsGoalRepository.save(goal);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SAVINGS_GOALS);
         log.info("Savings goal {} updated successfully", id);
 
         return savingsGoalMapper.toDto(updatedGoal);
@@ -87,6 +127,7 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
                 .orElseThrow(() -> new ResourceNotFoundException("Savings Goal", "id", id));
 
         savingsGoalRepository.delete(goal);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SAVINGS_GOALS);
         log.info("Savings goal {} deleted successfully", id);
     }
 
@@ -112,6 +153,7 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
         }
 
         SavingsGoal updatedGoal = savingsGoalRepository.save(goal);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SAVINGS_GOALS);
         log.info("Deposit successful. New amount: {}", newAmount);
 
         return savingsGoalMapper.toDto(updatedGoal);
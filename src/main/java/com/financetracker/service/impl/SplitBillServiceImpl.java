@@ -1,17 +1,29 @@
 package com.financetracker.service.impl;
 
+import com.financetracker.dto.CursorPageDto;
 import com.financetracker.dto.ParticipantDto;
 import com.financetracker.dto.SplitBillDto;
 import com.financetracker.dto.SplitBillSummaryDto;
 import com.financetracker.entity.Participant;
 import com.financetracker.entity.SplitBill;
+import com.financetracker.entity.UserDataVersion;
 import com.financetracker.exception.ResourceNotFoundException;
 import com.financetracker.mapper.SplitBillMapper;
 import com.financetracker.repository.SplitBillRepository;
 import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.DataVersionService;
 import com.financetracker.service.SplitBillService;
+import com.financetracker.util.CappedList;
+import com.financetracker.util.KeysetPagination;
+import com.financetracker.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -26,6 +38,14 @@ public class SplitBillServiceImpl implements SplitBillService {
     private final SplitBillRepository splitBillRepository;
     private final SplitBillMapper splitBillMapper;
     private final SecurityUtils securityUtils;
+    private final DataVersionService dataVersionService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${pagination.max-list-results:1000}")
+    private int maxListResults;
+
+    // ObjectIds grow with insertion time, so id order is creation order
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
 
     @Override
     public SplitBillDto createSplitBill(SplitBillDto splitBillDto) {
@@ -46,6 +66,7 @@ public class SplitBillServiceImpl implements SplitBillService {
         }
 
         SplitBill savedBill = splitBillRepository.save(splitBill);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SPLIT_BILLS);
         log.info("Split bill created with ID: {}", savedBill.getId());
 
         return splitBillMapper.toDto(savedBill);
@@ -63,12 +84,30 @@ public class SplitBillServiceImpl implements SplitBillService {
     }
 
     @Override
-    public List<SplitBillDto> getAllSplitBills() {
+    public CappedList<SplitBillDto> getAllSplitBills() {
         String userId = securityUtils.getCurrentUserId();
         log.info("Fetching all split bills for user: {}", userId);
 
-        List<SplitBill> splitBills = splitBillRepository.findByUserId(userId);
-        return splitBillMapper.toDtoList(splitBills);
+        CappedList<SplitBill> splitBills = CappedList.of(
+                splitBillRepository.findByUserId(userId, NEWEST_FIRST, Limit.of(maxListResults + 1)), maxListResults);
+        if (splitBills.truncated()) {
+            log.warn("Split bill list truncated at {} rows; clients should page with a cursor", maxListResults);
+        }
+        return splitBills.map(splitBillMapper::toDtoList);
+    }
+
+    @Override
+    public CursorPageDto<SplitBillDto> getSplitBillsPage(String cursor, int size, boolean details) {
+        String userId = securityUtils.getCurrentUserId();
+        log.info("Fetching split bill page for user: {}", userId);
+
+        Query query = new Query(KeysetPagination.afterId(Criteria.where("userId").is(userId), cursor))
+                .with(NEWEST_FIRST);
+        if (!details) {
+            query.fields().exclude("description");
+        }
+        return KeysetPagination.fetch(mongoTemplate, query, KeysetPagination.pageSize(size), SplitBill.class,
+                splitBillMapper::toDtoList, last -> new PageCursor(null, last.getId()), null);
     }
 
     @Override
@@ -81,6 +120,7 @@ public class SplitBillServiceImpl implements SplitBillService {
 
         splitBillMapper.updateEntity(splitBillDto, splitBill);
         SplitBill updatedBill = splitBillRepository.save(splitBill);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SPLIT_BILLS);
         log.info("Split bill {} updated successfully", id);
 
         return splitBillMapper.toDto(updatedBill);
@@ -95,6 +135,7 @@ public class SplitBillServiceImpl implements SplitBillService {
                 .orElseThrow(() -> new ResourceNotFoundException("Split Bill", "id", id));
 
         splitBillRepository.delete(splitBill);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SPLIT_BILLS);
         log.info("Split bill {} deleted successfully", id);
     }
 
@@ -118,6 +159,7 @@ public class SplitBillServiceImpl implements SplitBillService {
 
         splitBill.getParticipants().addAll(participants);
         SplitBill updatedBill = splitBillRepository.save(splitBill);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SPLIT_BILLS);
         log.info("Participants added to split bill {}", id);
 
         return splitBillMapper.toDto(updatedBill);
@@ -146,6 +188,7 @@ public class SplitBillServiceImpl implements SplitBillService {
         }
 
         SplitBill updatedBill = splitBillRepository.save(splitBill);
+        dataVersionService.bump(userId, UserDataVersion.Dataset.SPLIT_BILLS);
         return splitBillMapper.toDto(updatedBill);
     }
 
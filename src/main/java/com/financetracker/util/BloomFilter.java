@@ -0,0 +1,65 @@
+package com.financetracker.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over strings. Lookups allocate nothing, which keeps it
+ * cheap enough to consult on every request; a negative answer is definitive.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final int numBits;
+    private final int numHashes;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.numBits = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 64));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * ln2));
+        this.words = new AtomicLongArray((numBits + 63) >>> 6);
+    }
+
+    public void put(String value) {
+        int h1 = value.hashCode();
+        int h2 = secondaryHash(value);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = bitIndex(h1, h2, i);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        int h1 = value.hashCode();
+        int h2 = secondaryHash(value);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = bitIndex(h1, h2, i);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int bitIndex(int h1, int h2, int i) {
+        return ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+    }
+
+    private static int secondaryHash(String value) {
+        int h = 0x9747b28c;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x5bd1e995;
+            h ^= h >>> 15;
+        }
+        return h | 1;
+    }
+}
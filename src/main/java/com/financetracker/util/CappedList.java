@@ -0,0 +1,21 @@
+package com.financetracker.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Rows of a list endpoint cut at a fixed size, remembering whether more existed. Callers fetch
+ * one row past the cap so a list of exactly the cap is not reported as truncated.
+ */
+public record CappedList<T>(List<T> items, boolean truncated) {
+
+    public static <T> CappedList<T> of(List<T> rows, int cap) {
+        return rows.size() > cap
+                ? new CappedList<>(rows.subList(0, cap), true)
+                : new CappedList<>(rows, false);
+    }
+
+    public <R> CappedList<R> map(Function<List<T>, List<R>> mapper) {
+        return new CappedList<>(mapper.apply(items), truncated);
+    }
+}
@@ -13,6 +13,8 @@ public final class Constants {
     // JWT
     public static final String JWT_HEADER = "Authorization";
     public static final String JWT_PREFIX = "Bearer ";
+    public static final String JWT_CLAIM_USER_ID = "uid";
+    public static final String JWT_CLAIM_ROLES = "roles";
 
     // Pagination defaults
     public static final int DEFAULT_PAGE_SIZE = 20;
@@ -0,0 +1,77 @@
+package com.financetracker.util;
+
+import com.financetracker.dto.CursorPageDto;
+import com.financetracker.exception.BadRequestException;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared steps for cursor-paginated list endpoints: seek conditions for the two cursor shapes,
+ * and a fetch that reads one row past the page to learn whether another page exists.
+ */
+public final class KeysetPagination {
+
+    private KeysetPagination() {
+        // Utility class
+    }
+
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, Constants.MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Restricts the criteria to rows after the cursor in (date desc, id desc) order.
+     */
+    public static Criteria afterDateAndId(Criteria criteria, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return criteria;
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        if (after.date() == null) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+        return criteria.orOperator(
+                Criteria.where("date").lt(after.date()),
+                Criteria.where("date").is(after.date()).and("id").lt(objectId(after.id())));
+    }
+
+    /**
+     * Restricts the criteria to rows after the cursor in id desc order.
+     */
+    public static Criteria afterId(Criteria criteria, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return criteria;
+        }
+        return criteria.and("id").lt(objectId(PageCursor.decode(cursor).id()));
+    }
+
+    public static <E, D> CursorPageDto<D> fetch(MongoTemplate mongoTemplate, Query query, int pageSize,
+                                                Class<E> type, Function<List<E>, List<D>> mapper,
+                                                Function<E, PageCursor> cursorOf, Long totalElements) {
+        List<E> rows = mongoTemplate.find(query.limit(pageSize + 1), type);
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        return CursorPageDto.<D>builder()
+                .content(mapper.apply(rows))
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(rows.get(rows.size() - 1)).encode() : null)
+                .totalElements(totalElements)
+                .build();
+    }
+
+    private static ObjectId objectId(String id) {
+        if (!ObjectId.isValid(id)) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+        return new ObjectId(id);
+    }
+}
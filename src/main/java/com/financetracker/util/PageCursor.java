@@ -0,0 +1,36 @@
+package com.financetracker.util;
+
+import com.financetracker.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over (date desc, id desc), or over id desc
+ * alone when the date is null.
+ */
+public record PageCursor(LocalDate date, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = (date != null ? date.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            LocalDate date = separator == 0 ? null : LocalDate.parse(raw.substring(0, separator));
+            return new PageCursor(date, raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+}
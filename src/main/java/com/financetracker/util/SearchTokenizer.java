@@ -0,0 +1,52 @@
+package com.financetracker.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits free text into lowercase, accent-free search terms. The same rules are applied to
+ * stored expenses and to queries, so a query term matches as a prefix of a stored term.
+ */
+public final class SearchTokenizer {
+
+    public static final int MAX_TERMS_PER_DOCUMENT = 64;
+    public static final int MAX_QUERY_TERMS = 8;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 32;
+
+    private SearchTokenizer() {
+        // Utility class
+    }
+
+    public static List<String> tokenize(String... texts) {
+        return tokenize(MAX_TERMS_PER_DOCUMENT, texts);
+    }
+
+    public static List<String> tokenize(int maxTerms, String... texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                    .replaceAll("")
+                    .toLowerCase(Locale.ROOT);
+            for (String term : SEPARATORS.split(normalized)) {
+                if (term.length() >= MIN_TERM_LENGTH) {
+                    terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+                    if (terms.size() >= maxTerms) {
+                        return List.copyOf(terms);
+                    }
+                }
+            }
+        }
+        return List.copyOf(terms);
+    }
+}
@@ -0,0 +1,50 @@
+package com.financetracker.config;
+
+import com.financetracker.entity.CategoryUsage;
+import com.financetracker.entity.Expense;
+import com.financetracker.entity.MonthlyRollup;
+import com.financetracker.entity.SavingsGoal;
+import com.financetracker.entity.SplitBill;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Explains every query shape against a live mongod that only has the indexes the entities
+ * declare, with fail-on-violation on. Runs when MONGODB_URI is set, e.g. in a CI job with a
+ * Mongo service; a dropped or renamed index fails it.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_URI", matches = ".+")
+class MongoIndexVerifierLiveTest {
+
+    @Test
+    void declaredIndexesServeEveryQueryShape() {
+        try (MongoClient client = MongoClients.create(System.getenv("MONGODB_URI"))) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "index_verification_" + System.nanoTime());
+            try {
+                MongoMappingContext mappingContext = new MongoMappingContext();
+                mappingContext.setInitialEntitySet(Set.of(
+                        Expense.class, CategoryUsage.class, MonthlyRollup.class, SplitBill.class, SavingsGoal.class));
+                mappingContext.afterPropertiesSet();
+                // Creating the indexes also creates the collections, so no plan is a trivial EOF
+                new MongoConfig(mongoTemplate, mappingContext).ensureIndexes();
+
+                MongoIndexVerifier verifier = new MongoIndexVerifier(mongoTemplate);
+                ReflectionTestUtils.setField(verifier, "enabled", true);
+                ReflectionTestUtils.setField(verifier, "failOnViolation", true);
+
+                assertThatCode(verifier::verify).doesNotThrowAnyException();
+            } finally {
+                mongoTemplate.getDb().drop();
+            }
+        }
+    }
+}
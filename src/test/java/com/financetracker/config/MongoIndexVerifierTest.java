@@ -0,0 +1,92 @@
+package com.financetracker.config;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoIndexVerifierTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final MongoDatabase database = mock(MongoDatabase.class);
+    private MongoIndexVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getDb()).thenReturn(database);
+        verifier = new MongoIndexVerifier(mongoTemplate);
+        ReflectionTestUtils.setField(verifier, "enabled", true);
+        ReflectionTestUtils.setField(verifier, "failOnViolation", true);
+    }
+
+    @Test
+    void indexedPlansPass() {
+        when(database.runCommand(any(Bson.class))).thenReturn(plan("LIMIT", "FETCH", "IXSCAN"));
+
+        assertThatCode(verifier::verify).doesNotThrowAnyException();
+    }
+
+    @Test
+    void collectionScanFailsStartup() {
+        when(database.runCommand(any(Bson.class))).thenReturn(plan("COLLSCAN"));
+
+        assertThatThrownBy(verifier::verify)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("without a supporting index");
+    }
+
+    @Test
+    void inMemorySortFailsStartup() {
+        when(database.runCommand(any(Bson.class))).thenReturn(plan("SORT", "FETCH", "IXSCAN"));
+
+        assertThatThrownBy(verifier::verify).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void explainErrorsFailStartup() {
+        when(database.runCommand(any(Bson.class))).thenThrow(new MongoCommandException(
+                new BsonDocument(), new ServerAddress()));
+
+        assertThatThrownBy(verifier::verify)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Could not verify");
+    }
+
+    @Test
+    void violationsAreOnlyLoggedWhenNotStrict() {
+        ReflectionTestUtils.setField(verifier, "failOnViolation", false);
+        when(database.runCommand(any(Bson.class))).thenReturn(plan("COLLSCAN"));
+
+        assertThatCode(verifier::verify).doesNotThrowAnyException();
+    }
+
+    /**
+     * An explain result whose winning plan is the given stages, outermost first.
+     */
+    private static Document plan(String... stages) {
+        Document stage = null;
+        for (int i = stages.length - 1; i >= 0; i--) {
+            Document current = new Document("stage", stages[i]);
+            if (stage != null) {
+                current.append("inputStage", stage);
+            }
+            stage = current;
+        }
+        return new Document("queryPlanner", new Document("winningPlan", stage)
+                .append("rejectedPlans", List.of(new Document("stage", "COLLSCAN"))));
+    }
+}
@@ -0,0 +1,56 @@
+package com.financetracker.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvExpenseParserTest {
+
+    private final CsvExpenseParser parser = new CsvExpenseParser();
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        List<ImportRow> rows = parse("date,amount,description,category,notes\n"
+                + "2026-01-26,12.50,\"Dinner, \"\"the usual\"\"\",Food,\"first line\nsecond line\"\n"
+                + "2026-01-27,(3.00),Bus,,\n");
+
+        assertThat(rows).containsExactly(
+                new ImportRow(2, "2026-01-26", "12.50", "Dinner, \"the usual\"", "Food", "first line\nsecond line"),
+                new ImportRow(4, "2026-01-27", "(3.00)", "Bus", "", ""));
+    }
+
+    @Test
+    void lineNumbersCountBlankLinesAndCrLf() throws IOException {
+        List<ImportRow> rows = parse("\uFEFFDescription,Amount,Date\r\n\r\nTaxi,9.99,1/26/2026\r\nLunch,4.20,26.1.2026\r\n");
+
+        assertThat(rows).extracting(ImportRow::line).containsExactly(3L, 4L);
+        assertThat(rows).extracting(ImportRow::description).containsExactly("Taxi", "Lunch");
+        assertThat(parser.parseDate(rows.get(0).date())).isEqualTo(LocalDate.of(2026, 1, 26));
+        assertThat(parser.parseDate(rows.get(1).date())).isEqualTo(LocalDate.of(2026, 1, 26));
+    }
+
+    @Test
+    void amountsAreUnsigned() {
+        assertThat(parser.signedAmounts()).isFalse();
+    }
+
+    @Test
+    void missingRequiredColumnIsRejected() {
+        assertThatThrownBy(() -> parse("date,description\n2026-01-26,Taxi\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'amount'");
+    }
+
+    private List<ImportRow> parse(String content) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        parser.parse(new StringReader(content), rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,67 @@
+package com.financetracker.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfxExpenseParserTest {
+
+    private final OfxExpenseParser parser = new OfxExpenseParser();
+
+    @Test
+    void sgmlStatementsWithUnclosedTags() throws IOException {
+        List<ImportRow> rows = parse("""
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20260126120000[-5:EST]
+                <TRNAMT>-42.10
+                <NAME>Grocer &amp; Co
+                <MEMO>Weekly shop
+                </STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20260127<TRNAMT>100.00<MEMO>Refund</STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """);
+
+        assertThat(rows).containsExactly(
+                new ImportRow(1, "20260126120000[-5:EST]", "-42.10", "Grocer & Co", null, "Weekly shop"),
+                new ImportRow(2, "20260127", "100.00", "Refund", null, null));
+        assertThat(parser.parseDate(rows.get(0).date())).isEqualTo(LocalDate.of(2026, 1, 26));
+    }
+
+    @Test
+    void xmlStatementsWithClosingTags() throws IOException {
+        List<ImportRow> rows = parse("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <OFX>
+                  <STMTTRN>
+                    <DTPOSTED>20260201</DTPOSTED>
+                    <TRNAMT>-5.00</TRNAMT>
+                    <NAME>Coffee &lt;to go&gt;</NAME>
+                  </STMTTRN>
+                </OFX>
+                """);
+
+        assertThat(rows).containsExactly(new ImportRow(1, "20260201", "-5.00", "Coffee <to go>", null, null));
+    }
+
+    @Test
+    void amountsAreSignedFromTheAccountsPointOfView() {
+        assertThat(parser.signedAmounts()).isTrue();
+    }
+
+    private List<ImportRow> parse(String content) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        parser.parse(new StringReader(content), rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,58 @@
+package com.financetracker.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QifExpenseParserTest {
+
+    private final QifExpenseParser parser = new QifExpenseParser();
+
+    @Test
+    void recordsStartAtTheirFirstFieldLine() throws IOException {
+        List<ImportRow> rows = parse("""
+                !Type:Bank
+                D1/26'26
+                T-12.50
+                PCoffee Shop
+                MLatte
+                LFood:Coffee/Client
+                ^
+                D01/27/2026
+                T1,000.00
+                PSalary
+                L[Savings]
+                ^
+                """);
+
+        assertThat(rows).containsExactly(
+                new ImportRow(2, "1/26'26", "-12.50", "Coffee Shop", "Food:Coffee", "Latte"),
+                new ImportRow(8, "01/27/2026", "1,000.00", "Salary", null, null));
+        assertThat(parser.parseDate(rows.get(0).date())).isEqualTo(LocalDate.of(2026, 1, 26));
+        assertThat(parser.parseDate(rows.get(1).date())).isEqualTo(LocalDate.of(2026, 1, 27));
+    }
+
+    @Test
+    void memoStandsInForAMissingPayee() throws IOException {
+        List<ImportRow> rows = parse("D2026-02-01\nU-7.25\nMParking\n^\n");
+
+        assertThat(rows).containsExactly(new ImportRow(1, "2026-02-01", "-7.25", "Parking", null, null));
+    }
+
+    @Test
+    void amountsAreSignedFromTheAccountsPointOfView() {
+        assertThat(parser.signedAmounts()).isTrue();
+    }
+
+    private List<ImportRow> parse(String content) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        parser.parse(new StringReader(content), rows::add);
+        return rows;
+    }
+}
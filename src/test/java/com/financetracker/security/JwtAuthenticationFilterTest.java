@@ -0,0 +1,103 @@
+package com.financetracker.security;
+
+import com.financetracker.repository.RevokedTokenRepository;
+import com.financetracker.repository.UserRepository;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "mySecretKeyForJwtTokenGenerationWhichShouldBeVeryLongAndSecure2024";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+    private SecurityUtils securityUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 2_592_000_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "cacheMaxSize", 100L);
+        jwtTokenProvider.init();
+
+        TokenRevocationService revocations = new TokenRevocationService(revokedTokenRepository, 1000, 0.01);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, revocations);
+        securityUtils = new SecurityUtils(userRepository);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedRequestsResolveTheUserWithoutTouchingTheDatabase() throws Exception {
+        String token = jwtTokenProvider.generateToken(AuthenticatedUser.fromClaims(
+                "65b3f0c2a1b2c3d4e5f60718", "user@example.com", List.of("USER"), null, null));
+        List<String> seenUserIds = new ArrayList<>();
+
+        for (int call = 0; call < 3; call++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(bearer(token), response, new MockFilterChain(recordingUserId(seenUserIds)));
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(seenUserIds).containsExactly(
+                "65b3f0c2a1b2c3d4e5f60718", "65b3f0c2a1b2c3d4e5f60718", "65b3f0c2a1b2c3d4e5f60718");
+        verifyNoInteractions(userRepository, userDetailsService, revokedTokenRepository);
+    }
+
+    @Test
+    void revalidationLooksTheUserUpOnEveryRequest() throws Exception {
+        ReflectionTestUtils.setField(filter, "revalidateUser", true);
+        AuthenticatedUser user = AuthenticatedUser.fromClaims(
+                "65b3f0c2a1b2c3d4e5f60718", "user@example.com", List.of("USER"), null, null);
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+        String token = jwtTokenProvider.generateToken(user);
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userDetailsService).loadUserByUsername("user@example.com");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private HttpServlet recordingUserId(List<String> seenUserIds) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                seenUserIds.add(securityUtils.getCurrentUserId());
+            }
+        };
+    }
+}
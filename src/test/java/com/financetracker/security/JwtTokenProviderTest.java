@@ -0,0 +1,82 @@
+package com.financetracker.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "mySecretKeyForJwtTokenGenerationWhichShouldBeVeryLongAndSecure2024";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtParser jwtParser;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = provider(SECRET);
+
+        jwtParser = spy((JwtParser) ReflectionTestUtils.getField(jwtTokenProvider, "jwtParser"));
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtParser", jwtParser);
+    }
+
+    @Test
+    void repeatedVerificationsAreServedFromTheCache() {
+        String token = token("user@example.com");
+
+        Claims first = jwtTokenProvider.verify(token);
+        Claims second = jwtTokenProvider.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getSubject()).isEqualTo("user@example.com");
+        verify(jwtParser, times(1)).parseSignedClaims(anyString());
+    }
+
+    @Test
+    void eachTokenIsParsedOnce() {
+        String alice = token("alice@example.com");
+        String bob = token("bob@example.com");
+
+        jwtTokenProvider.verify(alice);
+        jwtTokenProvider.verify(bob);
+        jwtTokenProvider.verify(alice);
+        jwtTokenProvider.verify(bob);
+
+        verify(jwtParser, times(2)).parseSignedClaims(anyString());
+    }
+
+    @Test
+    void invalidTokensAreRejectedEveryTime() {
+        JwtTokenProvider otherIssuer = provider(SECRET.replace('m', 'M'));
+        String forged = otherIssuer.generateToken(AuthenticatedUser.fromClaims(
+                "65b3f0c2a1b2c3d4e5f60718", "user@example.com", List.of("USER"), null, null));
+
+        assertThat(jwtTokenProvider.verify(forged)).isNull();
+        assertThat(jwtTokenProvider.verify(forged)).isNull();
+        verify(jwtParser, times(2)).parseSignedClaims(anyString());
+    }
+
+    private static JwtTokenProvider provider(String secret) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 900_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 2_592_000_000L);
+        ReflectionTestUtils.setField(provider, "cacheMaxSize", 100L);
+        provider.init();
+        return provider;
+    }
+
+    private String token(String email) {
+        return jwtTokenProvider.generateToken(AuthenticatedUser.fromClaims(
+                "65b3f0c2a1b2c3d4e5f60718", email, List.of("USER"), null, null));
+    }
+}
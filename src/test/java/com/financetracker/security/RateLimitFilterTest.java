@@ -0,0 +1,127 @@
+package com.financetracker.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final int EMAIL_CAPACITY = 3;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Limit perIp = new RateLimitProperties.Limit();
+        perIp.setCapacity(1000);
+        perIp.setRefillPerMinute(1000);
+        RateLimitProperties.Limit perEmail = new RateLimitProperties.Limit();
+        perEmail.setCapacity(EMAIL_CAPACITY);
+        perEmail.setRefillPerMinute(1);
+        RateLimitProperties.Route login = new RateLimitProperties.Route();
+        login.setPath("/api/auth/login");
+        login.setPerIp(perIp);
+        login.setPerEmail(perEmail);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(login));
+
+        filter = new RateLimitFilter(properties, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void chunkedBodiesFromManyAddressesShareTheEmailBucket() throws Exception {
+        String body = "{\"email\":\"Victim@Example.com\",\"password\":\"guess\"}";
+        for (int attempt = 0; attempt < EMAIL_CAPACITY; attempt++) {
+            assertThat(login(chunked(body, "10.0.0." + attempt), "application/json").getStatus()).isEqualTo(200);
+        }
+        assertThat(login(chunked(body, "10.0.1.1"), "application/json").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void structuredJsonMediaTypesAreInspected() throws Exception {
+        String body = "{\"email\":\"victim@example.com\",\"password\":\"guess\"}";
+        for (int attempt = 0; attempt < EMAIL_CAPACITY; attempt++) {
+            login(request(body, "10.0.0." + attempt), "application/vnd.api+json");
+        }
+        assertThat(login(request(body, "10.0.1.1"), "application/problem+json").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void bodiesWithoutAnEmailAreChargedToOneFallbackBucket() throws Exception {
+        for (int attempt = 0; attempt < EMAIL_CAPACITY; attempt++) {
+            login(request("not json " + attempt, "10.0.0." + attempt), "application/json");
+        }
+        assertThat(login(request("{\"password\":\"guess\"}", "10.0.1.1"), "application/json").getStatus())
+                .isEqualTo(429);
+    }
+
+    @Test
+    void oversizedBodiesAreRejectedBeforeReachingTheController() throws Exception {
+        String padding = " ".repeat(20 * 1024);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = chunked("{\"email\":\"victim@example.com\"," + padding + "\"password\":\"x\"}", "10.0.0.1");
+        request.setContentType("application/json");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void forwardsTheFullBodyToTheController() throws Exception {
+        String body = "{\"email\":\"user@example.com\",\"password\":\"secret\"}";
+        MockHttpServletRequest request = chunked(body, "10.0.0.1");
+        request.setContentType("application/json");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(body);
+    }
+
+    private MockHttpServletResponse login(MockHttpServletRequest request, String contentType) throws Exception {
+        request.setContentType(contentType);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // A Transfer-Encoding: chunked request declares no length
+    private static MockHttpServletRequest chunked(String body, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login") {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setRemoteAddr(remoteAddr);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.User;
+import com.financetracker.repository.RefreshTokenRepository;
+import com.financetracker.repository.RevokedTokenRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.security.AuthenticatedUser;
+import com.financetracker.security.JwtAuthenticationFilter;
+import com.financetracker.security.JwtTokenProvider;
+import com.financetracker.security.PasswordHashingExecutor;
+import com.financetracker.security.SecurityUtils;
+import com.financetracker.security.TokenRevocationService;
+import com.financetracker.service.EmailService;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceImplTest {
+
+    private static final String SECRET = "mySecretKeyForJwtTokenGenerationWhichShouldBeVeryLongAndSecure2024";
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final User user = User.builder()
+            .id("65b3f0c2a1b2c3d4e5f60718")
+            .email("user@example.com")
+            .password("{noop}secret")
+            .roles(List.of("USER"))
+            .active(true)
+            .build();
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 2_592_000_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "cacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtTokenProvider, "init");
+
+        TokenRevocationService revocations = new TokenRevocationService(mock(RevokedTokenRepository.class), 1000, 0.01);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, revocations);
+        UserRepository userRepository = mock(UserRepository.class);
+        authService = new AuthServiceImpl(userRepository, mock(PasswordEncoder.class), jwtTokenProvider,
+                mock(AuthenticationManager.class), mock(PasswordHashingExecutor.class), mock(EmailService.class),
+                mock(RefreshTokenRepository.class), revocations, new SecurityUtils(userRepository));
+
+        when(userDetailsService.loadUserByUsername(user.getEmail()))
+                .thenAnswer(invocation -> AuthenticatedUser.fromUser(user));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void logoutRevokesTheAccessTokenWhenUsersAreRevalidated() throws Exception {
+        ReflectionTestUtils.setField(filter, "revalidateUser", true);
+        String token = jwtTokenProvider.generateToken(AuthenticatedUser.fromUser(user));
+
+        assertThat(authenticate(token)).isNotNull();
+        logout(token);
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void logoutRevokesLegacyTokensWithoutAUserId() throws Exception {
+        String token = jwtTokenProvider.generateToken(org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail()).password("").roles("USER").build());
+
+        assertThat(authenticate(token)).isNotNull();
+        logout(token);
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    private void logout(String token) throws Exception {
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                authService.logout(null);
+            }
+        }));
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        Authentication[] seen = new Authentication[1];
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                seen[0] = SecurityContextHolder.getContext().getAuthentication();
+            }
+        }));
+        SecurityContextHolder.clearContext();
+        return seen[0];
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/logout");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,198 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.EmailOutboxMessage;
+import com.financetracker.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final EmailOutboxRepository emailOutboxRepository = mock(EmailOutboxRepository.class);
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(mongoTemplate, emailOutboxRepository, mailSender, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 6);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 30_000L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 3_600_000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 120_000L);
+    }
+
+    @Test
+    void deliveredMessagesAreMarkedSentInOneSend() {
+        EmailOutboxMessage first = message("1", 0);
+        EmailOutboxMessage second = message("2", 0);
+        queue(first, second);
+
+        dispatcher.dispatch();
+
+        ArgumentCaptor<SimpleMailMessage[]> sent = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender).send(sent.capture());
+        assertThat(sent.getValue()).extracting(SimpleMailMessage::getTo)
+                .containsExactly(new String[]{"user1@example.com"}, new String[]{"user2@example.com"});
+        assertThat(sent.getValue()[0].getFrom()).isEqualTo("noreply@example.com");
+
+        assertThat(List.of(first, second)).allSatisfy(message -> {
+            assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getSentAt()).isNotNull();
+            assertThat(message.getLastError()).isNull();
+        });
+        verify(emailOutboxRepository, times(2)).save(any(EmailOutboxMessage.class));
+        assertThat(meterRegistry.counter("email.outbox.sent").count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectedMessageBacksOffWhileTheRestOfTheBatchIsSent() {
+        EmailOutboxMessage delivered = message("1", 0);
+        EmailOutboxMessage rejected = message("2", 2);
+        queue(delivered, rejected);
+        doAnswer(invocation -> {
+            SimpleMailMessage[] messages = (SimpleMailMessage[]) invocation.getRawArguments()[0];
+            throw new MailSendException(Map.of(messages[1], new IllegalStateException("550 mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        assertThat(delivered.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+        assertThat(rejected.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+        assertThat(rejected.getAttempts()).isEqualTo(3);
+        assertThat(rejected.getLastError()).isEqualTo("550 mailbox unavailable");
+        // Third attempt: 30 s doubled twice
+        assertThat(rejected.getNextAttemptAt())
+                .isCloseTo(before.plus(Duration.ofMinutes(2)), within(5, ChronoUnit.SECONDS));
+        assertThat(meterRegistry.counter("email.outbox.retried").count()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionFailureRetriesTheWholeBatch() {
+        EmailOutboxMessage first = message("1", 0);
+        EmailOutboxMessage second = message("2", 0);
+        queue(first, second);
+        doThrow(new MailAuthenticationException("535 authentication failed"))
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        assertThat(List.of(first, second)).allSatisfy(message -> {
+            assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getNextAttemptAt())
+                    .isCloseTo(before.plus(Duration.ofSeconds(30)), within(5, ChronoUnit.SECONDS));
+        });
+    }
+
+    @Test
+    void backoffIsCappedAtTheMaximum() {
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 20);
+        EmailOutboxMessage message = message("1", 10);
+        queue(message);
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        assertThat(message.getNextAttemptAt())
+                .isCloseTo(before.plus(Duration.ofHours(1)), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void lastFailedAttemptDeadLetters() {
+        EmailOutboxMessage message = message("1", 5);
+        LocalDateTime leasedUntil = message.getNextAttemptAt();
+        queue(message);
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        dispatcher.dispatch();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.DEAD);
+        assertThat(message.getAttempts()).isEqualTo(6);
+        assertThat(message.getNextAttemptAt()).isEqualTo(leasedUntil);
+        verify(emailOutboxRepository).save(message);
+        assertThat(meterRegistry.counter("email.outbox.dead").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("email.outbox.retried").count()).isZero();
+    }
+
+    @Test
+    void claimsStopAtTheBatchSize() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        queue(message("1", 0), message("2", 0), message("3", 0));
+
+        dispatcher.dispatch();
+
+        ArgumentCaptor<SimpleMailMessage[]> sent = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender).send(sent.capture());
+        assertThat(sent.getValue()).hasSize(2);
+        verify(mongoTemplate, times(2)).findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(EmailOutboxMessage.class));
+    }
+
+    @Test
+    void emptyOutboxSendsNothing() {
+        queue();
+        when(emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING)).thenReturn(0L);
+
+        dispatcher.dispatch();
+
+        verify(mailSender, times(0)).send(any(SimpleMailMessage[].class));
+        assertThat(meterRegistry.get("email.outbox.depth").gauge().value()).isZero();
+    }
+
+    /**
+     * Makes the claim loop return the given messages in order, then nothing.
+     */
+    private void queue(EmailOutboxMessage... messages) {
+        EmailOutboxMessage[] rest = Arrays.copyOf(messages, messages.length + 1);
+        when(mongoTemplate.findAndModify(
+                any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(EmailOutboxMessage.class)))
+                .thenReturn(messages.length == 0 ? null : messages[0], Arrays.copyOfRange(rest, 1, rest.length));
+    }
+
+    private static EmailOutboxMessage message(String id, int attempts) {
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .to("user" + id + "@example.com")
+                .subject("Subject " + id)
+                .body("Body " + id)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().plusMinutes(2))
+                .build();
+    }
+}
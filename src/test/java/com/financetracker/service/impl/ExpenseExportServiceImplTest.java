@@ -0,0 +1,142 @@
+package com.financetracker.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financetracker.dto.ExportFormat;
+import com.financetracker.entity.Expense;
+import com.financetracker.mapper.ExpenseMapper;
+import com.financetracker.security.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExpenseExportServiceImplTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SecurityUtils securityUtils = mock(SecurityUtils.class);
+    private ExpenseExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExpenseExportServiceImpl(
+                mongoTemplate, Mappers.getMapper(ExpenseMapper.class), securityUtils, objectMapper);
+        ReflectionTestUtils.setField(exportService, "cursorBatchSize", 500);
+        when(securityUtils.getCurrentUserId()).thenReturn("user-1");
+    }
+
+    @Test
+    void millionRowExportStreamsWithFlatHeap() throws Exception {
+        AtomicLong pulled = new AtomicLong();
+        when(mongoTemplate.stream(any(Query.class), eq(Expense.class)))
+                .thenAnswer(invocation -> LongStream.range(0, ROWS)
+                        .mapToObj(ExpenseExportServiceImplTest::expense)
+                        .peek(expense -> pulled.incrementAndGet()));
+        HeapSamplingSink sink = new HeapSamplingSink(pulled);
+
+        exportService.exportExpenses(ExportFormat.NDJSON, null, null, false).writeTo(sink);
+
+        assertThat(sink.lines).isEqualTo(ROWS);
+        // The first bytes leave once the write buffer fills, long before the cursor is drained
+        assertThat(sink.pulledAtFirstWrite).isBetween(1L, 10_000L);
+        assertThat(sink.maxHeapGrowth).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    @Test
+    void csvRowsAreQuotedAndGzipped() throws Exception {
+        Expense quoted = expense(1);
+        quoted.setDescription("Dinner, \"the usual\"");
+        quoted.setNotes("line one\nline two");
+        when(mongoTemplate.stream(any(Query.class), eq(Expense.class))).thenReturn(Stream.of(quoted, expense(2)));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        exportService.exportExpenses(ExportFormat.CSV, LocalDate.of(2026, 1, 1), null, true).writeTo(body);
+
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(body.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("id,date,category,description,amount,notes,createdAt,updatedAt\n");
+        assertThat(csv).contains("id-1,2026-01-15,Food,\"Dinner, \"\"the usual\"\"\",12.50,\"line one\nline two\",,\n");
+        assertThat(csv).endsWith("id-2,2026-01-15,Food,Expense 2,12.50,,,\n");
+    }
+
+    private static Expense expense(long index) {
+        return Expense.builder()
+                .id("id-" + index)
+                .userId("user-1")
+                .amount(new BigDecimal("12.50"))
+                .description("Expense " + index)
+                .category("Food")
+                .date(LocalDate.of(2026, 1, 15))
+                .build();
+    }
+
+    /**
+     * Discards the export while counting lines, noting how many rows had been read when the first
+     * bytes arrived and sampling heap use after a GC every 100k rows.
+     */
+    private static final class HeapSamplingSink extends OutputStream {
+
+        private final AtomicLong pulled;
+        private final long baseline;
+        private long lines;
+        private long pulledAtFirstWrite;
+        private long maxHeapGrowth;
+        private long nextSample = 100_000;
+
+        HeapSamplingSink(AtomicLong pulled) {
+            this.pulled = pulled;
+            this.baseline = usedHeap();
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            if (pulledAtFirstWrite == 0) {
+                pulledAtFirstWrite = pulled.get();
+            }
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n') {
+                    lines++;
+                }
+            }
+            if (pulled.get() >= nextSample) {
+                maxHeapGrowth = Math.max(maxHeapGrowth, usedHeap() - baseline);
+                nextSample += 100_000;
+            }
+        }
+
+        private static long usedHeap() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.dto.ExpenseDto;
+import com.financetracker.entity.Expense;
+import com.financetracker.exception.BadRequestException;
+import com.financetracker.mapper.ExpenseMapper;
+import com.financetracker.security.SecurityUtils;
+import com.mongodb.MongoExecutionTimeoutException;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExpenseSearchServiceImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SecurityUtils securityUtils = mock(SecurityUtils.class);
+    private ExpenseSearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new ExpenseSearchServiceImpl(mongoTemplate, Mappers.getMapper(ExpenseMapper.class), securityUtils);
+        ReflectionTestUtils.setField(searchService, "maxTimeMs", 2000L);
+        ReflectionTestUtils.setField(searchService, "maxOffset", 10_000);
+        when(securityUtils.getCurrentUserId()).thenReturn("user-1");
+    }
+
+    @Test
+    void everyQueryTermMustPrefixAStoredTerm() {
+        List<Document> pipeline = search("Crème BRÛ", null, null, null, 0, 20);
+
+        Document match = pipeline.get(0).get("$match", Document.class);
+        assertThat(match.get("userId")).isEqualTo("user-1");
+        List<?> all = match.get("searchTerms", Document.class).getList("$all", Object.class);
+        assertThat(all).map(pattern -> ((Pattern) pattern).pattern()).containsExactly("^creme", "^bru");
+    }
+
+    @Test
+    void categoryAndDateRangeNarrowTheMatch() {
+        List<Document> pipeline = search("taxi", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), "Transport", 0, 20);
+
+        Document match = pipeline.get(0).get("$match", Document.class);
+        assertThat(match.get("category")).isEqualTo("Transport");
+        Document date = match.getList("$and", Document.class).get(0).get("date", Document.class);
+        assertThat(date).containsEntry("$gte", LocalDate.of(2026, 1, 1)).containsEntry("$lte", LocalDate.of(2026, 1, 31));
+    }
+
+    @Test
+    void scoreIsWholeTermHitsPlusTwoForTheTypedPhrase() {
+        List<Document> pipeline = search("  5.99 Lunch ", null, null, null, 0, 20);
+
+        Document project = pipeline.get(1).get("$project", Document.class);
+        assertThat(project.get("date")).isEqualTo(1);
+        List<Document> addends = project.get("score", Document.class).getList("$add", Document.class);
+
+        Document intersection = addends.get(0).get("$size", Document.class);
+        assertThat(intersection.getList("$setIntersection", Object.class).get(1)).isEqualTo(List.of("99", "lunch"));
+
+        List<?> phrase = addends.get(1).getList("$cond", Object.class);
+        Document regexMatch = ((Document) phrase.get(0)).get("$regexMatch", Document.class);
+        assertThat(regexMatch.getString("regex")).isEqualTo(Pattern.quote("5.99 Lunch"));
+        assertThat(regexMatch.getString("options")).isEqualTo("i");
+        assertThat(phrase.subList(1, 3)).isEqualTo(List.of(2, 0));
+    }
+
+    @Test
+    void pagesAreRankedThenMostRecentFirst() {
+        List<Document> pipeline = search("coffee", null, null, null, 2, 25);
+
+        List<Document> results = pipeline.get(2).get("$facet", Document.class).getList("results", Document.class);
+        Document sort = results.get(0).get("$sort", Document.class);
+        assertThat(sort.keySet()).containsExactly("score", "date", "_id");
+        assertThat(sort.values()).containsOnly(-1);
+        assertThat(results.get(1).get("$skip")).isEqualTo(50L);
+        assertThat(results.get(2).get("$limit")).isEqualTo(25);
+    }
+
+    @Test
+    void pageKeepsTheRankedOrderAndSkipsDeletedExpenses() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("expenses"), eq(Document.class)))
+                .thenReturn(results(List.of("b", "gone", "a"), 57));
+        when(mongoTemplate.find(any(Query.class), eq(Expense.class)))
+                .thenReturn(List.of(expense("a"), expense("b")));
+
+        Page<ExpenseDto> page = searchService.search("coffee", null, null, null, 0, 20);
+
+        assertThat(page.getContent()).extracting(ExpenseDto::getId).containsExactly("b", "a");
+        assertThat(page.getTotalElements()).isEqualTo(57);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Expense.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("userId", "user-1");
+        assertThat(query.getValue().getFieldsObject()).containsEntry("searchTerms", 0);
+    }
+
+    @Test
+    void queriesWithoutUsableTermsAreRejected() {
+        assertThatThrownBy(() -> searchService.search("a - b", null, null, null, 0, 20))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> searchService.search("x".repeat(201), null, null, null, 0, 20))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void deepPagesAreRejected() {
+        assertThatThrownBy(() -> searchService.search("coffee", null, null, null, 501, 20))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("10000");
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void timeoutsAskForANarrowerSearch() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("expenses"), eq(Document.class)))
+                .thenThrow(new QueryTimeoutException("timed out", new MongoExecutionTimeoutException(50, "exceeded")));
+
+        assertThatThrownBy(() -> searchService.search("co", null, null, null, 0, 20))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("too broad");
+    }
+
+    private List<Document> search(String query, LocalDate from, LocalDate to, String category, int page, int size) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("expenses"), eq(Document.class)))
+                .thenReturn(results(List.of(), 0));
+
+        searchService.search(query, from, to, category, page, size);
+
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("expenses"), eq(Document.class));
+        assertThat(aggregation.getValue().getOptions().getMaxTime()).hasMillis(2000);
+        return aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    private static AggregationResults<Document> results(List<String> ids, long total) {
+        Document result = new Document("results", ids.stream().map(id -> new Document("_id", id)).toList())
+                .append("total", total == 0 ? List.of() : List.of(new Document("count", total)));
+        return new AggregationResults<>(List.of(result), new Document());
+    }
+
+    private static Expense expense(String id) {
+        return Expense.builder().id(id).userId("user-1").description("Coffee " + id).build();
+    }
+}
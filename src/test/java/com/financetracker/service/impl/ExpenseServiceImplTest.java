@@ -0,0 +1,106 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.dto.CategoryBreakdownDto;
+import com.financetracker.dto.MonthlyExpenseStatsDto;
+import com.financetracker.mapper.ExpenseMapper;
+import com.financetracker.repository.ExpenseRepository;
+import com.financetracker.security.SecurityUtils;
+import com.financetracker.service.CategoryRegistryService;
+import com.financetracker.service.DataVersionService;
+import com.financetracker.service.FileStorageService;
+import com.financetracker.service.MonthlyRollupService;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class ExpenseServiceImplTest {
+
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private final SecurityUtils securityUtils = mock(SecurityUtils.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private ExpenseServiceImpl expenseService;
+
+    @BeforeEach
+    void setUp() {
+        expenseService = new ExpenseServiceImpl(expenseRepository, Mappers.getMapper(ExpenseMapper.class),
+                securityUtils, mock(FileStorageService.class), mongoTemplate, mock(Validator.class),
+                mock(CategoryRegistryService.class), mock(DataVersionService.class), mock(MonthlyRollupService.class));
+        when(securityUtils.getCurrentUserId()).thenReturn("user-1");
+    }
+
+    @Test
+    void monthlyStatsComeFromOneAggregationOverTheWholeMonth() {
+        LocalDate start = LocalDate.of(2024, 2, 1);
+        LocalDate end = LocalDate.of(2024, 2, 29);
+        when(expenseRepository.getMonthlyStatsByUserIdAndDateBetween("user-1", start, end)).thenReturn(stats(
+                new ExpenseRepository.Totals(new BigDecimal("90.00"), 7, new BigDecimal("12.857142857")),
+                new ExpenseRepository.CategoryTotal("Food", new BigDecimal("60.00"), 4),
+                new ExpenseRepository.CategoryTotal("Transport", new BigDecimal("20.00"), 2),
+                new ExpenseRepository.CategoryTotal(null, new BigDecimal("10.00"), 1)));
+
+        MonthlyExpenseStatsDto stats = expenseService.getMonthlyStats(2, 2024);
+
+        verify(expenseRepository).getMonthlyStatsByUserIdAndDateBetween("user-1", start, end);
+        verifyNoMoreInteractions(expenseRepository);
+        verifyNoInteractions(mongoTemplate);
+
+        assertThat(stats.getMonth()).isEqualTo(2);
+        assertThat(stats.getYear()).isEqualTo(2024);
+        assertThat(stats.getTotalAmount()).isEqualByComparingTo("90.00");
+        assertThat(stats.getTotalTransactions()).isEqualTo(7);
+        assertThat(stats.getAverageAmount()).isEqualTo(new BigDecimal("12.86"));
+        assertThat(stats.getTopCategory()).isEqualTo("Food");
+        assertThat(stats.getTopCategoryAmount()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void categoryBreakdownKeepsTheAggregationRankingWithPercentages() {
+        when(expenseRepository.getMonthlyStatsByUserIdAndDateBetween(
+                "user-1", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31))).thenReturn(stats(
+                new ExpenseRepository.Totals(new BigDecimal("90.00"), 7, new BigDecimal("12.86")),
+                new ExpenseRepository.CategoryTotal("Food", new BigDecimal("60.00"), 4),
+                new ExpenseRepository.CategoryTotal("Transport", new BigDecimal("20.00"), 2),
+                new ExpenseRepository.CategoryTotal(null, new BigDecimal("10.00"), 1)));
+
+        List<CategoryBreakdownDto> breakdown = expenseService.getMonthlyStats(1, 2026).getCategoryBreakdown();
+
+        assertThat(breakdown).extracting(CategoryBreakdownDto::getCategory)
+                .containsExactly("Food", "Transport", "Unknown");
+        assertThat(breakdown).extracting(CategoryBreakdownDto::getCount).containsExactly(4, 2, 1);
+        assertThat(breakdown).extracting(CategoryBreakdownDto::getPercentage)
+                .containsExactly(new BigDecimal("66.67"), new BigDecimal("22.22"), new BigDecimal("11.11"));
+    }
+
+    @Test
+    void emptyMonthHasZeroTotalsAndNoBreakdown() {
+        when(expenseRepository.getMonthlyStatsByUserIdAndDateBetween(
+                "user-1", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)))
+                .thenReturn(new ExpenseRepository.MonthlyStats(List.of(), List.of()));
+
+        MonthlyExpenseStatsDto stats = expenseService.getMonthlyStats(3, 2026);
+
+        assertThat(stats.getTotalAmount()).isEqualByComparingTo("0");
+        assertThat(stats.getTotalTransactions()).isZero();
+        assertThat(stats.getAverageAmount()).isEqualByComparingTo("0");
+        assertThat(stats.getTopCategory()).isNull();
+        assertThat(stats.getCategoryBreakdown()).isEmpty();
+    }
+
+    private static ExpenseRepository.MonthlyStats stats(ExpenseRepository.Totals totals,
+                                                        ExpenseRepository.CategoryTotal... categories) {
+        return new ExpenseRepository.MonthlyStats(List.of(totals), List.of(categories));
+    }
+}
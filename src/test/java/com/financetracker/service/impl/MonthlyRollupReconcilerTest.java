@@ -0,0 +1,284 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.service.impl.MonthlyRollupReconciler.Key;
+import com.financetracker.service.impl.MonthlyRollupReconciler.Totals;
+import com.financetracker.service.impl.MonthlyRollupReconciler.UserCursor;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MonthlyRollupReconcilerTest {
+
+    private static final Key FOOD = new Key("user-1", "2026-01", "Food");
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> rollups = mock(MongoCollection.class);
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> expenses = mock(MongoCollection.class);
+    @SuppressWarnings("unchecked")
+    private final FindIterable<Document> storedRollup = mock(FindIterable.class);
+    @SuppressWarnings("unchecked")
+    private final AggregateIterable<Document> recount = mock(AggregateIterable.class);
+    private MonthlyRollupReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollection("user_monthly_rollups")).thenReturn(rollups);
+        when(mongoTemplate.getCollection("expenses")).thenReturn(expenses);
+        when(rollups.find(any(Bson.class))).thenReturn(storedRollup);
+        when(expenses.aggregate(anyList())).thenReturn(recount);
+        reconciler = spy(new MonthlyRollupReconciler(mongoTemplate, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void firstIsTheSmallerUserIdOfWhicheverSidesRemain() {
+        assertThat(MonthlyRollupReconciler.first("65b3a", "65b3b")).isEqualTo("65b3a");
+        assertThat(MonthlyRollupReconciler.first("65b3b", "65b3a")).isEqualTo("65b3a");
+        assertThat(MonthlyRollupReconciler.first("65b3a", "65b3a")).isEqualTo("65b3a");
+        assertThat(MonthlyRollupReconciler.first(null, "65b3b")).isEqualTo("65b3b");
+        assertThat(MonthlyRollupReconciler.first("65b3a", null)).isEqualTo("65b3a");
+    }
+
+    @Test
+    void userCursorHandsOutOneUserAtATime() {
+        UserCursor cursor = new UserCursor(cursor(
+                row("a", "2026-01", "Food", "1.00", 1),
+                row("a", "2026-02", "Food", "2.00", 1),
+                row("b", "2026-01", "Rent", "3.00", 1)));
+
+        assertThat(cursor.peekUserId()).isEqualTo("a");
+        assertThat(cursor.take("0")).isEmpty();
+        assertThat(cursor.take("a")).containsOnlyKeys(new Key("a", "2026-01", "Food"), new Key("a", "2026-02", "Food"));
+        assertThat(cursor.peekUserId()).isEqualTo("b");
+        assertThat(cursor.take("b")).containsEntry(new Key("b", "2026-01", "Rent"), totals("3.00", 1));
+        assertThat(cursor.hasNext()).isFalse();
+        assertThat(cursor.peekUserId()).isNull();
+    }
+
+    @Test
+    void walkReconcilesEveryUserFromEitherSideOnce() {
+        doReturn(1).when(reconciler).reconcileUser(any(), any());
+        UserCursor computed = new UserCursor(cursor(
+                row("a", "2026-01", "Food", "1.00", 1),
+                row("a", "2026-02", "Food", "2.00", 1),
+                row("c", "2026-01", "Food", "5.00", 2)));
+        UserCursor stored = new UserCursor(cursor(
+                row("a", "2026-01", "Food", "1.00", 1),
+                row("b", "2026-01", "Food", "4.00", 1),
+                row("c", "2026-01", "Food", "5.00", 2),
+                row("c", "2026-03", "Rent", "9.00", 1)));
+
+        int repaired = reconciler.reconcileAll(computed, stored);
+
+        assertThat(repaired).isEqualTo(3);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Key, Totals>> expected = ArgumentCaptor.forClass(Map.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Key, Totals>> actual = ArgumentCaptor.forClass(Map.class);
+        verify(reconciler, times(3)).reconcileUser(expected.capture(), actual.capture());
+        assertThat(expected.getAllValues()).extracting(Map::size).containsExactly(2, 0, 1);
+        assertThat(actual.getAllValues()).extracting(Map::size).containsExactly(1, 1, 2);
+        assertThat(actual.getAllValues().get(1)).containsOnlyKeys(new Key("b", "2026-01", "Food"));
+    }
+
+    @Test
+    void totalsCompareByValueNotScale() {
+        assertThat(totals("10.0", 2).sameAs(totals("10.00", 2))).isTrue();
+        assertThat(totals("10.00", 2).sameAs(totals("10.01", 2))).isFalse();
+        assertThat(totals("10.00", 2).sameAs(totals("10.00", 3))).isFalse();
+        assertThat(Totals.NONE.sameAs(totals("0.00", 0))).isTrue();
+    }
+
+    @Test
+    void totalsReadEveryNumericEncoding() {
+        assertThat(Totals.of(new Document("total", new Decimal128(new BigDecimal("12.50"))).append("count", 2)))
+                .isEqualTo(totals("12.50", 2));
+        assertThat(Totals.of(new Document("total", 7).append("count", 1L)).sameAs(totals("7", 1))).isTrue();
+        assertThat(Totals.of(new Document("total", 2.5).append("count", 1)).sameAs(totals("2.5", 1))).isTrue();
+        assertThat(Totals.of(new Document("total", Decimal128.NaN).append("count", 1)).sameAs(totals("0", 1))).isTrue();
+        assertThat(Totals.of(new Document())).isEqualTo(Totals.NONE);
+    }
+
+    @Test
+    void onlyMissingOrDifferingRollupsAreWritten() {
+        Key missing = new Key("user-1", "2026-01", "Food");
+        Key drifted = new Key("user-1", "2026-01", "Rent");
+        Key matching = new Key("user-1", "2026-02", "Food");
+        Key orphaned = new Key("user-1", "2026-03", "Food");
+        doReturn(true).when(reconciler).insert(any(), any());
+        doReturn(true).when(reconciler).repair(any());
+
+        int repaired = reconciler.reconcileUser(
+                Map.of(missing, totals("10.00", 1), drifted, totals("5.00", 1), matching, totals("10.0", 2)),
+                Map.of(drifted, totals("6.00", 1), matching, totals("10.00", 2), orphaned, totals("3.00", 1)));
+
+        assertThat(repaired).isEqualTo(3);
+        verify(reconciler).insert(missing, totals("10.00", 1));
+        verify(reconciler).repair(drifted);
+        verify(reconciler).repair(orphaned);
+        verify(reconciler, never()).repair(matching);
+        verify(reconciler, never()).repair(missing);
+    }
+
+    @Test
+    void insertLosingARaceFallsBackToRepair() {
+        doReturn(false).when(reconciler).insert(any(), any());
+        doReturn(true).when(reconciler).repair(any());
+
+        reconciler.reconcileUser(Map.of(FOOD, totals("10.00", 1)), Map.of());
+
+        verify(reconciler).repair(FOOD);
+    }
+
+    @Test
+    void repairWritesTheRecountIfTheRollupIsUnchanged() {
+        Date read = new Date(1_000);
+        when(storedRollup.first()).thenReturn(new Document("updatedAt", read));
+        when(recount.first()).thenReturn(new Document("total", new Decimal128(new BigDecimal("12.50"))).append("count", 2));
+        when(rollups.updateOne(any(Bson.class), any(Bson.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertThat(reconciler.repair(FOOD)).isTrue();
+
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(rollups).updateOne(filter.capture(), update.capture());
+        assertThat(render(filter.getValue())).isEqualTo(render(Filters.and(FOOD.filter(), Filters.eq("updatedAt", read))));
+        BsonDocument set = render(update.getValue()).getDocument("$set");
+        assertThat(set.getDecimal128("total").getValue().bigDecimalValue()).isEqualByComparingTo("12.50");
+        assertThat(set.getNumber("count").longValue()).isEqualTo(2);
+        assertThat(set.get("updatedAt")).isEqualTo(set.get("reconciledAt"));
+    }
+
+    @Test
+    void repairRereadsWhenAnIncrementLandsInBetween() {
+        Date firstRead = new Date(1_000);
+        Date secondRead = new Date(2_000);
+        when(storedRollup.first()).thenReturn(new Document("updatedAt", firstRead), new Document("updatedAt", secondRead));
+        when(recount.first()).thenReturn(new Document("total", 10).append("count", 1));
+        when(rollups.updateOne(any(Bson.class), any(Bson.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
+
+        assertThat(reconciler.repair(FOOD)).isTrue();
+
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        verify(rollups, times(2)).updateOne(filter.capture(), any(Bson.class));
+        assertThat(render(filter.getAllValues().get(1)))
+                .isEqualTo(render(Filters.and(FOOD.filter(), Filters.eq("updatedAt", secondRead))));
+        verify(recount, times(2)).first();
+    }
+
+    @Test
+    void repairDeletesARollupWithNoExpensesLeft() {
+        when(storedRollup.first()).thenReturn(new Document("updatedAt", new Date(1_000)));
+        when(recount.first()).thenReturn(null);
+        when(rollups.deleteOne(any(Bson.class))).thenReturn(DeleteResult.acknowledged(1));
+
+        assertThat(reconciler.repair(FOOD)).isTrue();
+
+        verify(rollups, never()).updateOne(any(Bson.class), any(Bson.class));
+    }
+
+    @Test
+    void repairGivesUpOnARollupThatKeepsChanging() {
+        when(storedRollup.first()).thenReturn(new Document("updatedAt", new Date(1_000)));
+        when(recount.first()).thenReturn(new Document("total", 10).append("count", 1));
+        when(rollups.updateOne(any(Bson.class), any(Bson.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThat(reconciler.repair(FOOD)).isFalse();
+
+        verify(rollups, times(3)).updateOne(any(Bson.class), any(Bson.class));
+    }
+
+    @Test
+    void repairOfAMissingRollupWithNoExpensesIsANoOp() {
+        when(storedRollup.first()).thenReturn(null);
+        when(recount.first()).thenReturn(null);
+
+        assertThat(reconciler.repair(FOOD)).isTrue();
+
+        verify(reconciler, never()).insert(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recheckRepairsRollupsIncrementedAfterThisRunWroteThem() {
+        MongoIterable<Key> touched = mock(MongoIterable.class);
+        when(storedRollup.projection(any(Bson.class))).thenReturn(storedRollup);
+        doReturn(touched).when(storedRollup).map(any());
+        when(touched.into(any())).thenAnswer(invocation -> {
+            Collection<Key> into = invocation.getArgument(0);
+            into.add(FOOD);
+            return into;
+        }).thenAnswer(invocation -> invocation.getArgument(0));
+        doReturn(true).when(reconciler).repair(any());
+        Date runStart = new Date(5_000);
+
+        assertThat(reconciler.recheckTouched(runStart)).isEqualTo(1);
+
+        verify(reconciler, times(1)).repair(FOOD);
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        verify(rollups, times(2)).find(filter.capture());
+        assertThat(render(filter.getValue())).isEqualTo(render(Filters.and(
+                Filters.gte("reconciledAt", runStart),
+                Filters.expr(new Document("$ne", List.of("$updatedAt", "$reconciledAt"))))));
+    }
+
+    private static Totals totals(String total, long count) {
+        return new Totals(new BigDecimal(total), count);
+    }
+
+    private static Document row(String userId, String month, String category, String total, int count) {
+        return new Document("userId", userId)
+                .append("month", month)
+                .append("category", category)
+                .append("total", new Decimal128(new BigDecimal(total)))
+                .append("count", count);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> cursor(Document... rows) {
+        Iterator<Document> iterator = List.of(rows).iterator();
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+
+    private static BsonDocument render(Bson bson) {
+        return bson.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+}
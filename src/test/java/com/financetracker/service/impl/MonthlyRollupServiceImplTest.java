@@ -0,0 +1,170 @@
+package com.financetracker.service.impl;
+
+import com.financetracker.entity.Expense;
+import com.financetracker.entity.MonthlyRollup;
+import com.financetracker.repository.MonthlyRollupRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MonthlyRollupServiceImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private MonthlyRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new MonthlyRollupServiceImpl(mock(MonthlyRollupRepository.class), mongoTemplate);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MonthlyRollup.class)).thenReturn(bulk);
+    }
+
+    @Test
+    void categoryChangeMovesTheExpenseBetweenRollups() {
+        rollupService.recordChange("user-1",
+                expense("2026-01-10", "12.50", "Food"),
+                expense("2026-01-10", "12.50", "Transport"));
+
+        Map<String, Document> increments = upserts(2);
+        assertThat(increments.get("2026-01/Food")).isEqualTo(inc("-12.50", -1));
+        assertThat(increments.get("2026-01/Transport")).isEqualTo(inc("12.50", 1));
+        verify(bulk).execute();
+        Document removed = removedRollups();
+        assertThat(removed.getString("userId")).isEqualTo("user-1");
+        assertThat(removed.get("count")).isEqualTo(new Document("$lte", 0));
+        assertThat(months(removed)).containsExactly("2026-01");
+    }
+
+    @Test
+    void monthChangeMovesTheExpenseAndItsNewAmount() {
+        rollupService.recordChange("user-1",
+                expense("2026-01-31", "20.00", "Food"),
+                expense("2026-02-01", "25.00", "Food"));
+
+        Map<String, Document> increments = upserts(2);
+        assertThat(increments.get("2026-01/Food")).isEqualTo(inc("-20.00", -1));
+        assertThat(increments.get("2026-02/Food")).isEqualTo(inc("25.00", 1));
+        assertThat(months(removedRollups())).containsExactly("2026-01");
+    }
+
+    @Test
+    void amountEditIsOneNetIncrementWithoutCleanup() {
+        rollupService.recordChange("user-1",
+                expense("2026-01-10", "12.50", "Food"),
+                expense("2026-01-10", "10.00", "Food"));
+
+        assertThat(upserts(1).get("2026-01/Food")).isEqualTo(inc("-2.50", 0));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(MonthlyRollup.class));
+    }
+
+    @Test
+    void editsThatKeepMonthCategoryAndAmountWriteNothing() {
+        Expense before = expense("2026-01-10", "12.50", "Food");
+        Expense after = expense("2026-01-10", "12.5", "Food");
+        after.setDescription("Renamed");
+
+        rollupService.recordChange("user-1", before, after);
+
+        verify(bulk, never()).upsert(any(Query.class), any(Update.class));
+        verify(bulk, never()).execute();
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(MonthlyRollup.class));
+    }
+
+    @Test
+    void batchesAreFoldedIntoOneUpsertPerRollup() {
+        List<Expense> added = IntStream.rangeClosed(1, 3)
+                .mapToObj(day -> expense("2026-03-0" + day, day + ".00", "Food"))
+                .collect(Collectors.toList());
+        added.add(expense("2026-03-04", "4.00", null));
+        added.add(expense(null, "99.00", "Food"));
+
+        rollupService.recordChanges("user-1", List.of(), added);
+
+        Map<String, Document> increments = upserts(2);
+        assertThat(increments.get("2026-03/Food")).isEqualTo(inc("6.00", 3));
+        assertThat(increments.get("2026-03/null")).isEqualTo(inc("4.00", 1));
+        verify(bulk, times(1)).execute();
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(MonthlyRollup.class));
+    }
+
+    @Test
+    void rollupFailuresDoNotFailTheExpenseWrite() {
+        when(bulk.execute()).thenThrow(new DataAccessResourceFailureException("primary stepped down"));
+
+        assertThatCode(() -> rollupService.recordChange("user-1", expense("2026-01-10", "1.00", "Food"), null))
+                .doesNotThrowAnyException();
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(MonthlyRollup.class));
+    }
+
+    /**
+     * The queued upserts keyed by "month/category", each mapped to its $inc document.
+     */
+    private Map<String, Document> upserts(int expected) {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(expected)).upsert(queries.capture(), updates.capture());
+        return IntStream.range(0, expected).boxed().collect(Collectors.toMap(
+                i -> {
+                    Document query = queries.getAllValues().get(i).getQueryObject();
+                    assertThat(query.getString("userId")).isEqualTo("user-1");
+                    return query.getString("month") + "/" + query.getString("category");
+                },
+                i -> {
+                    Document update = updates.getAllValues().get(i).getUpdateObject();
+                    assertThat(update.get("$set", Document.class)).containsKey("updatedAt");
+                    return update.get("$inc", Document.class);
+                }));
+    }
+
+    private Document removedRollups() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq(MonthlyRollup.class));
+        return query.getValue().getQueryObject();
+    }
+
+    /**
+     * The months a cleanup query covers; the criteria keep them as a set, not a list.
+     */
+    @SuppressWarnings("unchecked")
+    private static Collection<String> months(Document removed) {
+        return (Collection<String>) removed.get("month", Document.class).get("$in");
+    }
+
+    private static Document inc(String total, long count) {
+        return new Document("total", new BigDecimal(total)).append("count", count);
+    }
+
+    private static Expense expense(String date, String amount, String category) {
+        return Expense.builder()
+                .userId("user-1")
+                .date(date != null ? LocalDate.parse(date) : null)
+                .amount(new BigDecimal(amount))
+                .category(category)
+                .description("Expense")
+                .build();
+    }
+}
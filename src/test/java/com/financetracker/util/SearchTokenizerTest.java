@@ -0,0 +1,72 @@
+package com.financetracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void accentsAndCaseAreFolded() {
+        assertThat(SearchTokenizer.tokenize("Café CRÈME brûlée, Ångström"))
+                .containsExactly("cafe", "creme", "brulee", "angstrom");
+    }
+
+    @Test
+    void queriesAndStoredTextFoldTheSameWay() {
+        List<String> stored = SearchTokenizer.tokenize("Crème brûlée at Zoë's", null);
+        List<String> query = SearchTokenizer.tokenize(SearchTokenizer.MAX_QUERY_TERMS, "CREME bru");
+
+        assertThat(query).allSatisfy(term -> assertThat(stored).anyMatch(storedTerm -> storedTerm.startsWith(term)));
+    }
+
+    @Test
+    void punctuationSplitsTermsButDigitsAndLettersStay() {
+        assertThat(SearchTokenizer.tokenize("Uber-eats #42 (x2) über/München 2026"))
+                .containsExactly("uber", "eats", "42", "x2", "munchen", "2026");
+    }
+
+    @Test
+    void singleCharacterTermsAreDropped() {
+        assertThat(SearchTokenizer.tokenize("a b c to 7 go")).containsExactly("to", "go");
+        assertThat(SearchTokenizer.tokenize("a - b")).isEmpty();
+    }
+
+    @Test
+    void longTermsAreCutToThirtyTwoCharacters() {
+        String word = "supercalifragilisticexpialidocious-extra";
+
+        assertThat(SearchTokenizer.tokenize(word))
+                .containsExactly("supercalifragilisticexpialidocio", "extra");
+    }
+
+    @Test
+    void duplicatesAreKeptOnceInFirstSeenOrder() {
+        assertThat(SearchTokenizer.tokenize("Coffee coffee COFFÉE", "beans coffee"))
+                .containsExactly("coffee", "beans");
+    }
+
+    @Test
+    void documentTermsAreCapped() {
+        String text = String.join(" ", IntStream.range(0, 100).mapToObj(i -> "term" + i).toList());
+
+        List<String> terms = SearchTokenizer.tokenize(text);
+
+        assertThat(terms).hasSize(SearchTokenizer.MAX_TERMS_PER_DOCUMENT);
+        assertThat(terms.get(0)).isEqualTo("term0");
+        assertThat(terms.get(terms.size() - 1)).isEqualTo("term63");
+    }
+
+    @Test
+    void queryTermsAreCappedAcrossTexts() {
+        assertThat(SearchTokenizer.tokenize(2, "one two", "three")).containsExactly("one", "two");
+    }
+
+    @Test
+    void nullAndBlankTextsYieldNoTerms() {
+        assertThat(SearchTokenizer.tokenize(null, "  ", "")).isEmpty();
+    }
+}